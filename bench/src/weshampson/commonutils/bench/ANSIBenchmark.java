@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import weshampson.commonutils.ansi.ANSI;
+import weshampson.commonutils.ansi.ANSIException;
+
+/**
+ * Benchmarks {@link ANSI#rGBToANSI(int, int, int)} over a fixed set of
+ * random colors, including any that have no match.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ANSIBenchmark {
+    private static final int COLOR_COUNT = 1024;
+    private final int[] colors = new int[COLOR_COUNT];
+    private int index;
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = random.nextInt(0x1000000);
+        }
+    }
+    @Benchmark
+    public void rGBToANSI(Blackhole blackhole) {
+        convert(blackhole);
+    }
+    @Benchmark
+    @Threads(4)
+    public void rGBToANSIContended(Blackhole blackhole) {
+        convert(blackhole);
+    }
+    private void convert(Blackhole blackhole) {
+        int rGB = colors[index++ & (COLOR_COUNT - 1)];
+        try {
+            blackhole.consume(ANSI.rGBToANSI(rGB >> 16 & 0xFF, rGB >> 8 & 0xFF, rGB & 0xFF));
+        } catch (ANSIException ex) {
+            blackhole.consume(ex);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import weshampson.commonutils.jar.JarUtils;
+import weshampson.commonutils.logging.Level;
+import weshampson.commonutils.logging.Logger;
+
+/**
+ * Benchmarks {@link JarUtils#extractResource(String, String)}. Each thread
+ * extracts the same class path resource to its own file. The logger's
+ * minimum level is raised for the run so that only the extraction is
+ * measured.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JarUtilsBenchmark {
+    /** Copied into the benchmark class path by the {@code benchmark} target. */
+    public static final String RESOURCE = "weshampson/commonutils/bench/extract-sample.txt";
+    private File directory;
+    private String destination;
+    private Level originalMinimumLevel;
+    @Setup
+    public void setUp() throws IOException {
+        originalMinimumLevel = Logger.getLogger().getMinimumLevel();
+        Logger.getLogger().setMinimumLevel(Level.ERROR);
+        directory = File.createTempFile("jarutils-bench", "");
+        directory.delete();
+        directory.mkdirs();
+        destination = new File(directory, "extract-sample.txt").getPath();
+    }
+    @TearDown
+    public void tearDown() {
+        new File(destination).delete();
+        directory.delete();
+        Logger.getLogger().setMinimumLevel(originalMinimumLevel);
+    }
+    @Benchmark
+    public File extractResource() throws IOException {
+        return(JarUtils.extractResource(RESOURCE, destination));
+    }
+    @Benchmark
+    @Threads(4)
+    public File extractResourceContended() throws IOException {
+        return(JarUtils.extractResource(RESOURCE, destination));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import weshampson.commonutils.ansi.ANSILogger;
+import weshampson.commonutils.logging.Level;
+import weshampson.commonutils.logging.Logger;
+
+/**
+ * Benchmarks prefix rendering and printing through {@link ANSILogger}.
+ * Console output is discarded so that only the logger's own work is
+ * measured.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+    private static final String MESSAGE = "Extracted resource lib/native/libfoo.so to /tmp/app/lib/native/libfoo.so";
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+    private Logger originalLogger;
+    private ANSILogger aNSILogger;
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        originalErr = System.err;
+        // AnsiConsole wraps System.out and System.err when it is first
+        // loaded, so they must be replaced before the logger is created.
+        PrintStream nullStream = new PrintStream(new NullOutputStream());
+        System.setOut(nullStream);
+        System.setErr(nullStream);
+        originalLogger = Logger.getLogger();
+        aNSILogger = new ANSILogger();
+        aNSILogger.setColorEnabled(true);
+        Logger.setLogger(aNSILogger);
+    }
+    @TearDown
+    public void tearDown() {
+        Logger.setLogger(originalLogger);
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+    @Benchmark
+    public String parsePrefix() {
+        return(Logger.parsePrefix(Level.INFO, Level.INFO.getPrefix()));
+    }
+    @Benchmark
+    @Threads(4)
+    public String parsePrefixContended() {
+        return(Logger.parsePrefix(Level.INFO, Level.INFO.getPrefix()));
+    }
+    @Benchmark
+    public void aNSILoggerPrint() {
+        aNSILogger.print(Level.INFO, MESSAGE, true, true);
+    }
+    /**
+     * Logs through the static {@code log} method, so that all threads
+     * compete for the logger's print lock.
+     */
+    @Benchmark
+    @Threads(4)
+    public void aNSILoggerLogContended() {
+        Logger.log(Level.INFO, MESSAGE);
+    }
+    @Benchmark
+    @Threads(4)
+    public void aNSILoggerLogFormattedContended() {
+        Logger.log(Level.INFO, "Extracted resource {} to {}", "lib/native/libfoo.so", "/tmp/app/lib/native/libfoo.so");
+    }
+    private static final class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import weshampson.commonutils.logging.Timestamp;
+
+/**
+ * Benchmarks {@link Timestamp#getTimestamp()} with a per-second pattern,
+ * which is served from the cache almost every time, and a per-millisecond
+ * pattern, which is re-rendered on most calls.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimestampBenchmark {
+    private final Timestamp seconds = new Timestamp(Timestamp.TWENTYFOUR_HOUR_FORMAT);
+    private final Timestamp milliseconds = new Timestamp("HH:mm:ss.SSS");
+    @Benchmark
+    public String getTimestamp() {
+        return(seconds.getTimestamp());
+    }
+    @Benchmark
+    @Threads(4)
+    public String getTimestampContended() {
+        return(seconds.getTimestamp());
+    }
+    @Benchmark
+    public String getTimestampMillis() {
+        return(milliseconds.getTimestamp());
+    }
+    @Benchmark
+    @Threads(4)
+    public String getTimestampMillisContended() {
+        return(milliseconds.getTimestamp());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import weshampson.commonutils.xml.XMLReader;
+
+/**
+ * Benchmarks {@link XMLReader#read(java.io.InputStream)} on generated
+ * documents of different sizes.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLReaderBenchmark {
+    @Param({"10", "1000"})
+    public int elementCount;
+    private byte[] xML;
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<settings>\n");
+        for (int i = 0; i < elementCount; i++) {
+            sb.append("    <entry key=\"key").append(i).append("\">\n");
+            sb.append("        <value>value ").append(i).append("</value>\n");
+            sb.append("    </entry>\n");
+        }
+        sb.append("</settings>\n");
+        xML = sb.toString().getBytes(Charset.forName("UTF-8"));
+    }
+    @Benchmark
+    public Document read() throws IOException, DocumentException {
+        return(XMLReader.read(new ByteArrayInputStream(xML)));
+    }
+    @Benchmark
+    @Threads(4)
+    public Document readContended() throws IOException, DocumentException {
+        return(XMLReader.read(new ByteArrayInputStream(xML)));
+    }
+}
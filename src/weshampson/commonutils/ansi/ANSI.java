@@ -19,50 +19,160 @@
 
 package weshampson.commonutils.ansi;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- *
+ * ANSI escape sequences and color conversion.
+ * <p>
+ * RGB values can be mapped to the 16 basic console colors, to the xterm
+ * 256-color palette or written as 24-bit truecolor sequences. Nearest basic
+ * colors come from a table computed once, and 256-color indexes are
+ * computed per channel, so no conversion allocates or throws.
  * @author  Wes Hampson
- * @version 0.1.0 (Aug 25, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.1.0 (Aug 25, 2014)
  */
 public class ANSI {
     public static final String ANSI_NORMAL = "\u001b[0m";
     public static final String ANSI_DEFAULTFOREGROUND = "\u001b[39m";
     public static final String ANSI_DEFAULTBACKGROUND = "\u001b[49m";
-    public static Color rGBToANSI(int r, int g, int b) throws ANSIException {
-        int[] rGB = new int[] {r, g, b};
-        int[] aNSI = new int[3];
-        float[] hSB = java.awt.Color.RGBtoHSB(r, g, b, null);
-        int bright = Math.round(hSB[2]);
-        if (hSB[0] == 0.0 && hSB[1] == 0.0) {
-            int rounded;
-            if (bright == 1) {
-                rounded = (int)(64.0 * Math.round((float)r / 64.0));
-                if (rounded == 256) {
-                    rounded -= 1;
-                }
-            } else {
-                rounded = (int)(128.0 * Math.round((float)r / 128.0));
-            }
-            for (int i = 0; i < aNSI.length; i++) {
-                aNSI[i] = rounded;
-            }
-        } else {
-            for (int i = 0; i < aNSI.length; i++) {
-                if (rGB[i] == 0) {
-                    aNSI[i] = 0;
-                } else if (bright == 1) {
-                    aNSI[i] = (int)(255.0 * Math.round((float)rGB[i] / 255.0));
-                } else {
-                    aNSI[i] = (int)(128.0 * Math.round((float)rGB[i] / 128.0));
+    private static final int[] CUBE_LEVELS = {0x00, 0x5F, 0x87, 0xAF, 0xD7, 0xFF};
+    private static final int[] EXTENDED_PALETTE = new int[256];
+    private static final String[] EXTENDED_ESCAPE_SEQUENCES = new String[256];
+    private static final byte[] CUBE_INDEXES = new byte[256];
+    static {
+        int[] system = {0x000000, 0x800000, 0x008000, 0x808000, 0x000080, 0x800080, 0x008080, 0xC0C0C0,
+                0x808080, 0xFF0000, 0x00FF00, 0xFFFF00, 0x0000FF, 0xFF00FF, 0x00FFFF, 0xFFFFFF};
+        System.arraycopy(system, 0, EXTENDED_PALETTE, 0, system.length);
+        for (int i = 0; i < 216; i++) {
+            EXTENDED_PALETTE[16 + i] = CUBE_LEVELS[i / 36] << 16 | CUBE_LEVELS[i / 6 % 6] << 8 | CUBE_LEVELS[i % 6];
+        }
+        for (int i = 0; i < 24; i++) {
+            int gray = 8 + 10 * i;
+            EXTENDED_PALETTE[232 + i] = gray << 16 | gray << 8 | gray;
+        }
+        for (int i = 0; i < EXTENDED_ESCAPE_SEQUENCES.length; i++) {
+            EXTENDED_ESCAPE_SEQUENCES[i] = "\u001b[0;38;5;" + i + ";49m";
+        }
+        for (int v = 0; v < CUBE_INDEXES.length; v++) {
+            int best = 0;
+            for (int i = 1; i < CUBE_LEVELS.length; i++) {
+                if (Math.abs(CUBE_LEVELS[i] - v) < Math.abs(CUBE_LEVELS[best] - v)) {
+                    best = i;
                 }
             }
+            CUBE_INDEXES[v] = (byte)best;
         }
-        return(Color.getColor(aNSI[0] << 16 | aNSI[1] << 8 | aNSI[2]));
+    }
+    /**
+     * Returns the basic console color nearest to an RGB value.
+     * @param r the red component, {@code 0-255}
+     * @param g the green component, {@code 0-255}
+     * @param b the blue component, {@code 0-255}
+     * @return the nearest color; never {@link Color#DEFAULT}
+     * @throws ANSIException never; declared for compatibility
+     * @see #nearestColor(int)
+     */
+    public static Color rGBToANSI(int r, int g, int b) throws ANSIException {
+        return(nearestColor((r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF)));
     }
     public static Color rGBToANSI(java.awt.Color c) throws ANSIException {
         return(rGBToANSI(c.getRed(), c.getGreen(), c.getBlue()));
     }
+    /**
+     * Returns the basic console color nearest to an RGB value. The color is
+     * looked up in a table of the nearest color, by Euclidean distance, to
+     * the center of each 8x8x8 block of the RGB cube; the blocks holding the
+     * palette colors themselves always map to those colors.
+     * @param rGBValue the color as {@code 0xRRGGBB}
+     * @return the nearest color; never {@link Color#DEFAULT}
+     */
+    public static Color nearestColor(int rGBValue) {
+        return(Color.PALETTE[NearestColorTable.TABLE[tableIndex(rGBValue)]]);
+    }
+    public static Color nearestColor(java.awt.Color c) {
+        return(nearestColor(c.getRGB()));
+    }
+    /**
+     * Returns the index of the xterm 256-color palette entry nearest to an
+     * RGB value. Only the 6x6x6 color cube and the gray ramp are considered,
+     * since the first 16 entries vary between terminals.
+     * @param rGBValue the color as {@code 0xRRGGBB}
+     * @return the palette index, {@code 16-255}
+     */
+    public static int nearestExtendedColor(int rGBValue) {
+        int r = rGBValue >> 16 & 0xFF;
+        int g = rGBValue >> 8 & 0xFF;
+        int b = rGBValue & 0xFF;
+        int cube = 16 + 36 * CUBE_INDEXES[r] + 6 * CUBE_INDEXES[g] + CUBE_INDEXES[b];
+        int average = (r + g + b) / 3;
+        int grayStep = average < 8 ? 0 : Math.min(23, (average - 8 + 5) / 10);
+        int gray = 232 + grayStep;
+        return(distance(rGBValue, EXTENDED_PALETTE[gray]) < distance(rGBValue, EXTENDED_PALETTE[cube]) ? gray : cube);
+    }
+    /**
+     * Returns the RGB value of an entry in the xterm 256-color palette.
+     * @param index the palette index, {@code 0-255}
+     * @return the color as {@code 0xRRGGBB}
+     */
+    public static int getExtendedColorRGB(int index) {
+        return(EXTENDED_PALETTE[index]);
+    }
+    /**
+     * Returns the escape sequence that selects a 256-color palette entry as
+     * the foreground color. The sequences are created once and shared.
+     * @param index the palette index, {@code 0-255}
+     * @return the escape sequence
+     */
+    public static String getExtendedEscapeSequence(int index) {
+        return(EXTENDED_ESCAPE_SEQUENCES[index]);
+    }
+    /**
+     * Returns the escape sequence that selects a 24-bit foreground color.
+     * @param rGBValue the color as {@code 0xRRGGBB}
+     * @return the escape sequence
+     */
+    public static String getTrueColorEscapeSequence(int rGBValue) {
+        return("\u001b[0;38;2;" + (rGBValue >> 16 & 0xFF) + ";" + (rGBValue >> 8 & 0xFF) + ";" + (rGBValue & 0xFF) + ";49m");
+    }
+    /**
+     * Returns the escape sequence that best shows an RGB value in a given
+     * color mode.
+     * @param rGBValue the color as {@code 0xRRGGBB}
+     * @param mode the colors the terminal supports
+     * @return the escape sequence
+     */
+    public static String getEscapeSequence(int rGBValue, ColorMode mode) {
+        switch (mode) {
+            case EXTENDED:
+                return(getExtendedEscapeSequence(nearestExtendedColor(rGBValue)));
+            case TRUECOLOR:
+                return(getTrueColorEscapeSequence(rGBValue));
+            default:
+                return(nearestColor(rGBValue).getANSIEscapeSequence());
+        }
+    }
+    private static int tableIndex(int rGBValue) {
+        return((rGBValue >> 19 & 0x1F) << 10 | (rGBValue >> 11 & 0x1F) << 5 | (rGBValue >> 3 & 0x1F));
+    }
+    private static int distance(int rGB1, int rGB2) {
+        int dr = (rGB1 >> 16 & 0xFF) - (rGB2 >> 16 & 0xFF);
+        int dg = (rGB1 >> 8 & 0xFF) - (rGB2 >> 8 & 0xFF);
+        int db = (rGB1 & 0xFF) - (rGB2 & 0xFF);
+        return(dr * dr + dg * dg + db * db);
+    }
+    /**
+     * The colors a terminal can display.
+     */
+    public static enum ColorMode {
+        /** The 16 colors of {@link Color}. */
+        BASIC,
+        /** The xterm 256-color palette. */
+        EXTENDED,
+        /** Any 24-bit RGB color. */
+        TRUECOLOR
+    }
     public static enum Color {
         BLACK(0x000000, "\u001b[0;30;49m"),
         DARK_RED(0x800000, "\u001b[0;31;49m"),
@@ -81,6 +191,21 @@ public class ANSI {
         MAGENTA(0xFF00FF, "\u001b[1;35;49m"),
         CYAN(0x00FFFF, "\u001b[1;36;49m"),
         WHITE(0xFFFFFF, "\u001b[1;37;49m");
+        /** Every color except {@link #DEFAULT}. */
+        private static final Color[] PALETTE;
+        private static final Map<Integer, Color> BY_RGB_VALUE = new HashMap<>();
+        static {
+            Color[] colors = values();
+            PALETTE = new Color[colors.length - 1];
+            int n = 0;
+            for (Color c : colors) {
+                if (c == DEFAULT) {
+                    continue;
+                }
+                PALETTE[n++] = c;
+                BY_RGB_VALUE.put(c.rGBValue, c);
+            }
+        }
         private final int rGBValue;
         private final String escapeSequence;
         private Color(int rGBValue, String escapeSequence) {
@@ -98,12 +223,42 @@ public class ANSI {
             return(getANSIEscapeSequence());
         }
         public static Color getColor(int rGBValue) throws ANSIException {
-            for (Color c : values()) {
-                if (c.getRGBValue() == rGBValue) {
-                    return(c);
+            Color c = forRGB(rGBValue);
+            if (c == null) {
+                throw new ANSIException("ANSI color match not found for RGB value - " + rGBValue);
+            }
+            return(c);
+        }
+        /**
+         * Returns the color with an exact RGB value.
+         * @param rGBValue the color as {@code 0xRRGGBB}
+         * @return the color, or {@code null} if there is no exact match
+         * @see ANSI#nearestColor(int)
+         */
+        public static Color forRGB(int rGBValue) {
+            return(BY_RGB_VALUE.get(rGBValue));
+        }
+    }
+    private static final class NearestColorTable {
+        /** Index into {@link Color#PALETTE} for each 8x8x8 block. */
+        private static final byte[] TABLE = new byte[1 << 15];
+        static {
+            for (int i = 0; i < TABLE.length; i++) {
+                int center = ((i >> 10) << 3 | 4) << 16 | ((i >> 5 & 0x1F) << 3 | 4) << 8 | ((i & 0x1F) << 3 | 4);
+                int best = 0;
+                int bestDistance = Integer.MAX_VALUE;
+                for (int c = 0; c < Color.PALETTE.length; c++) {
+                    int d = distance(center, Color.PALETTE[c].rGBValue);
+                    if (d < bestDistance) {
+                        best = c;
+                        bestDistance = d;
+                    }
                 }
+                TABLE[i] = (byte)best;
+            }
+            for (int c = 0; c < Color.PALETTE.length; c++) {
+                TABLE[tableIndex(Color.PALETTE[c].rGBValue)] = (byte)c;
             }
-            throw new ANSIException("ANSI color match not found for RGB value - " + rGBValue);
         }
     }
 }
\ No newline at end of file
@@ -19,24 +19,49 @@
 
 package weshampson.commonutils.ansi;
 
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.lang.reflect.Method;
 import org.fusesource.jansi.AnsiConsole;
-import weshampson.commonutils.io.DocumentOutputStream;
+import weshampson.commonutils.io.ANSIStrippingOutputStream;
+import weshampson.commonutils.logging.ConsoleOutput;
 import weshampson.commonutils.logging.Level;
 import weshampson.commonutils.logging.Logger;
 
 /**
- *
+ * A {@link Logger} that writes to the console through Jansi, coloring each
+ * message with its level's console color.
+ * <p>
+ * When a stream is a terminal that understands escape sequences as they are
+ * (any platform but Windows, with that stream attached to a terminal, or
+ * with {@code jansi.passthrough} set), Jansi would pass the bytes through
+ * unchanged anyway, so messages are written with {@link ConsoleOutput}
+ * instead of through a chain of writers. Standard output and standard error
+ * are checked separately, so escape sequences are still removed from
+ * whichever of them is redirected to a file.
  * @author  Wes Hampson
- * @version 0.3.1 (Nov 22, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.2.0 (Sep 5, 2014)
  */
 public class ANSILogger extends Logger {
+    private static final int STDOUT_FILENO = 1;
+    private static final int STDERR_FILENO = 2;
+    private static final boolean WINDOWS = System.getProperty("os.name").startsWith("Win");
+    private static final boolean STDOUT_PASSTHROUGH = isPassthroughConsole(STREAM_STDOUT);
+    private static final boolean STDERR_PASSTHROUGH = isPassthroughConsole(STREAM_STDERR);
     public ANSILogger() {
-        super(new PrintWriter(AnsiConsole.out), new PrintWriter(AnsiConsole.err));
+        super(new PrintWriter(AnsiConsole.out), new PrintWriter(createStderr()));
     }
     @Override
     public void print(Level level, String message, boolean writePrefix, boolean newLine) {
+        String prefix = writePrefix ? parsePrefix(level, level.getPrefix()) : null;
+        if (level.getStream() == STREAM_STDERR ? STDERR_PASSTHROUGH : STDOUT_PASSTHROUGH) {
+            ConsoleOutput.forLevel(level).print(level, prefix, message, newLine, isColorEnabled());
+            printToAppenders(level, prefix, message, newLine);
+            return;
+        }
         PrintWriter pw;
         if (level.getStream() == STREAM_STDERR) {
             pw = getStderr();
@@ -44,10 +69,10 @@ public class ANSILogger extends Logger {
             pw = getStdout();
         }
         if (isColorEnabled()) {
-            pw.print(level.getConsoleColor().getANSIEscapeSequence());
+            pw.print(level.getConsoleEscapeSequence());
         }
         if (writePrefix) {
-            pw.print(parsePrefix(level, level.getPrefix()));
+            pw.print(prefix);
         }
         pw.print(message);
         if (isColorEnabled()) {
@@ -57,39 +82,35 @@ public class ANSILogger extends Logger {
             pw.println();
         }
         pw.flush();
-        if (isLoggingToDocumentEnabled()) {
-            DocumentOutputStream documentOutputStream;
-            if (level.getStream() == STREAM_STDERR) {
-                documentOutputStream = getDocumentErr();
-            } else {
-                documentOutputStream = getDocumentOut();
-            }
-            documentOutputStream.setDocumentAttributeSet(level.getDocumentAttributeSet());
-            pw = new PrintWriter(documentOutputStream);
-            if (writePrefix) {
-                pw.print(parsePrefix(level, level.getPrefix()));
-            }
-            pw.print(message);
-            if (newLine) {
-                pw.println();
-            }
-            pw.flush();
-            documentOutputStream.getTextComponent().setCaretPosition(documentOutputStream.getDocument().getLength());
+        printToAppenders(level, prefix, message, newLine);
+    }
+    /**
+     * Returns the writer target for standard error. Jansi decides whether to
+     * strip escape sequences by looking at standard output only, so off
+     * Windows they are removed here when standard error is not a terminal.
+     */
+    private static PrintStream createStderr() {
+        if (STDERR_PASSTHROUGH || WINDOWS) {
+            return(AnsiConsole.err);
+        }
+        return(new PrintStream(new ANSIStrippingOutputStream(new FileOutputStream(FileDescriptor.err))));
+    }
+    private static boolean isPassthroughConsole(int stream) {
+        if (Boolean.getBoolean("jansi.passthrough")) {
+            return(true);
+        }
+        if (Boolean.getBoolean("jansi.strip") || WINDOWS) {
+            return(false);
         }
-        if (isLoggingToFileEnabled()) {
-            if (level.getStream() == STREAM_STDERR) {
-                pw = new PrintWriter(getFileErr());
-            } else {
-                pw = new PrintWriter(getFileOut());
-            }
-            if (writePrefix) {
-                pw.print(parsePrefix(level, level.getPrefix()));
-            }
-            pw.print(message);
-            if (newLine) {
-                pw.println();
-            }
-            pw.flush();
+        try {
+            // Looked up reflectively: compiling against CLibrary needs
+            // annotation classes that are not bundled with JLine.
+            Method isatty = Class.forName("org.fusesource.jansi.internal.CLibrary").getMethod("isatty", int.class);
+            return((Integer)isatty.invoke(null, stream == STREAM_STDERR ? STDERR_FILENO : STDOUT_FILENO) != 0);
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // No native library; System.console() only covers standard input
+            // and output.
+            return(stream == STREAM_STDOUT && System.console() != null);
         }
     }
 }
\ No newline at end of file
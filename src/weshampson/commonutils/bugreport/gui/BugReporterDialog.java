@@ -41,7 +41,7 @@ import weshampson.commonutils.xml.XMLReader;
 /**
  *
  * @author  Wes Hampson
- * @version 0.3.1 (Nov 23, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.3.1 (Nov 22, 2014)
  */
 public class BugReporterDialog extends javax.swing.JDialog {
@@ -268,7 +268,7 @@ public class BugReporterDialog extends javax.swing.JDialog {
     private void jLabel1MouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_jLabel1MouseClicked
         try {
             Desktop.getDesktop().mail(new URI("mailto:" + recipientAddress));
-            Logger.log(Level.INFO, "Mailto:" + recipientAddress + " clicked.");
+            Logger.log(Level.INFO, "Mailto:{} clicked.", recipientAddress);
         } catch (URISyntaxException ex) {
             Logger.log(Level.ERROR, ex, null);
         } catch (IOException ex) {
@@ -35,7 +35,7 @@ import weshampson.commonutils.logging.Logger;
 /**
  *
  * @author  Wes Hampson
- * @version 0.3.1 (Nov 22, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.1.0 (Aug 30, 2014)
  */
 public class Email {
@@ -58,7 +58,7 @@ public class Email {
         emailMessage.setSubject(emailSubject);
         emailMessage.setText(emailText);
         Transport.send(emailMessage);
-        Logger.log(Level.INFO, "Email successfully sent to " + emailRecipient + ".");
+        Logger.log(Level.INFO, "Email successfully sent to {}.", emailRecipient);
     }
     public static enum EmailProvider {
         AOL("aol.com", "smtp.aol.com", 587),
@@ -19,30 +19,61 @@
 
 package weshampson.commonutils.exception;
 
+import java.io.File;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import weshampson.commonutils.exception.gui.UncaughtExceptionDialog;
+import weshampson.commonutils.logging.FlightRecorder;
 import weshampson.commonutils.logging.Level;
 import weshampson.commonutils.logging.Logger;
+import weshampson.commonutils.logging.TimestampFormat;
 
 /**
- *
+ * Logs an uncaught exception, writes the logger's {@link FlightRecorder}
+ * to a crash file and exits.
  * @author  Wes Hampson
- * @version 0.2.0 (Sep 6, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.2.0 (Sep 5, 2014)
  */
 public class UncaughtExceptionHandler implements Thread.UncaughtExceptionHandler {
     public static final int EXIT_CODE = 1;
+    public static final long DEFAULT_CRASH_DUMP_TIMEOUT = 2000;
+    private static final String CRASH_FILE_TIMESTAMP_FORMAT = "yyyyMMdd-HHmmss";
     private boolean showDialog;
+    private File crashFile;
+    private long crashDumpTimeout = DEFAULT_CRASH_DUMP_TIMEOUT;
     public void showDialog(boolean bool) {
         this.showDialog = bool;
     }
+    /**
+     * Returns the file the flight recorder is written to.
+     * @return the crash file, or {@code null} if a file named
+     * {@code crash-<yyyyMMdd-HHmmss>.log} is created in the working directory
+     */
+    public File getCrashFile() {
+        return(crashFile);
+    }
+    public void setCrashFile(File crashFile) {
+        this.crashFile = crashFile;
+    }
+    public long getCrashDumpTimeout() {
+        return(crashDumpTimeout);
+    }
+    /**
+     * Sets the total time allowed for draining asynchronous log events and
+     * writing the crash file before the handler moves on.
+     * @param timeoutMillis the time limit
+     */
+    public void setCrashDumpTimeout(long timeoutMillis) {
+        this.crashDumpTimeout = timeoutMillis;
+    }
     @Override
     public void uncaughtException(Thread t, Throwable e) {
         StringWriter stringWriter = new StringWriter();
         PrintWriter stackTraceWriter = new PrintWriter(stringWriter);
         e.printStackTrace(stackTraceWriter);
         Logger.log(Level.ERROR, "Uncaught exception: " + e.toString() + "\nStack trace:\n" + stringWriter.toString());
+        dumpFlightRecorder();
         if (showDialog) {
             UncaughtExceptionDialog uncaughtExceptionDialog = new UncaughtExceptionDialog(null, true, e);
             uncaughtExceptionDialog.pack();
@@ -51,4 +82,24 @@ public class UncaughtExceptionHandler implements Thread.UncaughtExceptionHandler
         }
         System.exit(EXIT_CODE);
     }
+    private void dumpFlightRecorder() {
+        FlightRecorder recorder = Logger.getFlightRecorder();
+        if (recorder == null) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + crashDumpTimeout;
+        if (Logger.isAsyncLoggingEnabled()) {
+            Logger.disableAsyncLogging(Math.max(1, crashDumpTimeout / 2));
+        }
+        File file = crashFile;
+        if (file == null) {
+            file = new File("crash-" + TimestampFormat.forPattern(CRASH_FILE_TIMESTAMP_FORMAT).now() + ".log");
+        }
+        if (recorder.dump(file, deadline - System.currentTimeMillis())) {
+            Logger.DEFAULT_STDERR.println("Recent log events written to " + file.getAbsolutePath());
+        } else {
+            Logger.DEFAULT_STDERR.println("Failed to write recent log events to " + file.getAbsolutePath());
+        }
+        Logger.DEFAULT_STDERR.flush();
+    }
 }
\ No newline at end of file
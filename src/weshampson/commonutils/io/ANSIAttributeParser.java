@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.io;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import weshampson.commonutils.ansi.ANSI;
+
+/**
+ * Turns text containing ANSI escape sequences into runs of plain text, each
+ * with the Swing {@link AttributeSet} that its SGR ("select graphic
+ * rendition") sequences call for.
+ * <p>
+ * The parser is fed text in arbitrary pieces and keeps its state between
+ * calls, so both a sequence split across two pieces and a color that stays
+ * in effect across many writes are handled. Supported SGR codes are reset,
+ * bold, italic, underline, inverse, the 8 basic and 8 bright foreground and
+ * background colors, {@code 38;5}/{@code 48;5} 256-color and
+ * {@code 38;2}/{@code 48;2} truecolor selections. Bold with a basic
+ * foreground color selects the bright variant, as most terminals do. Other
+ * CSI sequences are removed.
+ * <p>
+ * Attribute sets are built on top of a base set and cached by style, so
+ * text in the same style always gets the same instance, and text with no
+ * active style gets the base set itself. A parser is not thread-safe.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see DocumentOutputStream#setANSIRenderingEnabled(boolean)
+ */
+public final class ANSIAttributeParser {
+    private static final int STATE_TEXT = 0;
+    private static final int STATE_ESCAPE = 1;
+    private static final int STATE_CSI = 2;
+    private static final int MAX_PARAMETERS = 16;
+    private static final int MAX_CACHED_STYLES = 1024;
+    private static final int DEFAULT_COLOR = -1;
+    private static final int FLAG_BOLD = 1;
+    private static final int FLAG_ITALIC = 2;
+    private static final int FLAG_UNDERLINE = 4;
+    private static final int FLAG_INVERSE = 8;
+    private final int[] parameters = new int[MAX_PARAMETERS];
+    private final StringBuilder run = new StringBuilder();
+    private final Map<AttributeSet, Map<Long, AttributeSet>> cache = new IdentityHashMap<>();
+    private int state = STATE_TEXT;
+    private int parameterCount;
+    private boolean privateSequence;
+    private int foreground = DEFAULT_COLOR;
+    private int background = DEFAULT_COLOR;
+    private int flags;
+    /**
+     * Parses a piece of text, passing each run of plain text to a handler.
+     * A run is ended when the style changes or the end of the piece is
+     * reached.
+     * @param text the text to parse
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @param baseAttributes the attributes that styles are built on, or
+     * {@code null} for none
+     * @param handler receives the runs
+     */
+    public void parse(CharSequence text, int start, int end, AttributeSet baseAttributes, Handler handler) {
+        AttributeSet base = baseAttributes == null ? SimpleAttributeSet.EMPTY : baseAttributes;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            switch (state) {
+                case STATE_TEXT:
+                    if (c == ANSIEscapeFilter.ESC) {
+                        state = STATE_ESCAPE;
+                    } else {
+                        run.append(c);
+                    }
+                    break;
+                case STATE_ESCAPE:
+                    if (c == '[') {
+                        state = STATE_CSI;
+                        parameterCount = 0;
+                        parameters[0] = 0;
+                        privateSequence = false;
+                    } else if (c != ANSIEscapeFilter.ESC) {
+                        state = STATE_TEXT;
+                        run.append(c);
+                    }
+                    break;
+                default:
+                    if (c >= '0' && c <= '9') {
+                        if (parameterCount == 0) {
+                            parameterCount = 1;
+                        }
+                        int p = parameterCount - 1;
+                        parameters[p] = Math.min(parameters[p] * 10 + (c - '0'), 0xFFFF);
+                    } else if (c == ';') {
+                        if (parameterCount == 0) {
+                            parameterCount = 1;
+                        }
+                        if (parameterCount < MAX_PARAMETERS) {
+                            parameters[parameterCount++] = 0;
+                        }
+                    } else if (c >= 0x3C && c <= 0x3F) {
+                        privateSequence = true;
+                    } else if (c >= 0x20 && c <= 0x2F) {
+                        break;
+                    } else if (c >= 0x40 && c <= 0x7E) {
+                        state = STATE_TEXT;
+                        if (c == 'm' && !privateSequence) {
+                            flush(base, handler);
+                            applySGR();
+                        }
+                    } else if (c == ANSIEscapeFilter.ESC) {
+                        state = STATE_ESCAPE;
+                    } else {
+                        state = STATE_TEXT;
+                        run.append(c);
+                    }
+                    break;
+            }
+        }
+        flush(base, handler);
+    }
+    public void parse(CharSequence text, AttributeSet baseAttributes, Handler handler) {
+        parse(text, 0, text.length(), baseAttributes, handler);
+    }
+    /**
+     * Returns whether an SGR style is in effect.
+     * @return {@code false} if text is currently given the base attributes
+     * unchanged
+     */
+    public boolean isStyled() {
+        return(foreground != DEFAULT_COLOR || background != DEFAULT_COLOR || flags != 0);
+    }
+    /**
+     * Forgets the current style and any partial escape sequence.
+     */
+    public void reset() {
+        state = STATE_TEXT;
+        foreground = DEFAULT_COLOR;
+        background = DEFAULT_COLOR;
+        flags = 0;
+        run.setLength(0);
+    }
+    private void flush(AttributeSet base, Handler handler) {
+        if (run.length() == 0) {
+            return;
+        }
+        String text = run.toString();
+        run.setLength(0);
+        handler.handleRun(text, getAttributes(base));
+    }
+    private void applySGR() {
+        if (parameterCount == 0) {
+            resetStyle();
+            return;
+        }
+        for (int i = 0; i < parameterCount; i++) {
+            int p = parameters[i];
+            if (p == 0) {
+                resetStyle();
+            } else if (p == 1) {
+                flags |= FLAG_BOLD;
+            } else if (p == 3) {
+                flags |= FLAG_ITALIC;
+            } else if (p == 4) {
+                flags |= FLAG_UNDERLINE;
+            } else if (p == 7) {
+                flags |= FLAG_INVERSE;
+            } else if (p == 22) {
+                flags &= ~FLAG_BOLD;
+            } else if (p == 23) {
+                flags &= ~FLAG_ITALIC;
+            } else if (p == 24) {
+                flags &= ~FLAG_UNDERLINE;
+            } else if (p == 27) {
+                flags &= ~FLAG_INVERSE;
+            } else if (p >= 30 && p <= 37) {
+                foreground = p - 30;
+            } else if (p == 39) {
+                foreground = DEFAULT_COLOR;
+            } else if (p >= 40 && p <= 47) {
+                background = p - 40;
+            } else if (p == 49) {
+                background = DEFAULT_COLOR;
+            } else if (p >= 90 && p <= 97) {
+                foreground = p - 90 + 8;
+            } else if (p >= 100 && p <= 107) {
+                background = p - 100 + 8;
+            } else if (p == 38 || p == 48) {
+                int color = DEFAULT_COLOR;
+                if (i + 2 < parameterCount && parameters[i + 1] == 5) {
+                    color = parameters[i + 2] & 0xFF;
+                    i += 2;
+                } else if (i + 4 < parameterCount && parameters[i + 1] == 2) {
+                    color = 0x1000000 | (parameters[i + 2] & 0xFF) << 16 | (parameters[i + 3] & 0xFF) << 8 | (parameters[i + 4] & 0xFF);
+                    i += 4;
+                } else {
+                    return;
+                }
+                if (p == 38) {
+                    foreground = color;
+                } else {
+                    background = color;
+                }
+            }
+        }
+    }
+    private void resetStyle() {
+        foreground = DEFAULT_COLOR;
+        background = DEFAULT_COLOR;
+        flags = 0;
+    }
+    /**
+     * Returns the cached attribute set for the current style. Colors are
+     * stored as a palette index below {@code 256}, or as
+     * {@code 0x1000000 | RGB} for truecolor; in the key, the default color
+     * gets a bit of its own so that it cannot collide with either.
+     */
+    private AttributeSet getAttributes(AttributeSet base) {
+        if (!isStyled()) {
+            return(base);
+        }
+        long key = ((long)flags << 52) | ((long)colorKey(foreground) << 26) | colorKey(background);
+        Map<Long, AttributeSet> styles = cache.get(base);
+        if (styles == null) {
+            if (cache.size() >= 16) {
+                cache.clear();
+            }
+            styles = new HashMap<>();
+            cache.put(base, styles);
+        }
+        AttributeSet attributes = styles.get(key);
+        if (attributes == null) {
+            if (styles.size() >= MAX_CACHED_STYLES) {
+                styles.clear();
+            }
+            attributes = createAttributes(base);
+            styles.put(key, attributes);
+        }
+        return(attributes);
+    }
+    private static int colorKey(int color) {
+        return(color == DEFAULT_COLOR ? 0x2000000 : color);
+    }
+    private AttributeSet createAttributes(AttributeSet base) {
+        SimpleAttributeSet attributes = new SimpleAttributeSet(base);
+        int fg = foreground;
+        if ((flags & FLAG_BOLD) != 0 && fg >= 0 && fg < 8) {
+            fg += 8;
+        }
+        Color fgColor = toColor(fg);
+        Color bgColor = toColor(background);
+        if ((flags & FLAG_INVERSE) != 0) {
+            Color swap = fgColor == null ? StyleConstants.getBackground(base) : fgColor;
+            fgColor = bgColor == null ? Color.WHITE : bgColor;
+            bgColor = swap == null ? Color.BLACK : swap;
+        }
+        if (fgColor != null) {
+            StyleConstants.setForeground(attributes, fgColor);
+        }
+        if (bgColor != null) {
+            StyleConstants.setBackground(attributes, bgColor);
+        }
+        if ((flags & FLAG_ITALIC) != 0) {
+            StyleConstants.setItalic(attributes, true);
+        }
+        if ((flags & FLAG_UNDERLINE) != 0) {
+            StyleConstants.setUnderline(attributes, true);
+        }
+        return(attributes);
+    }
+    private static Color toColor(int color) {
+        if (color == DEFAULT_COLOR) {
+            return(null);
+        }
+        if (color < 256) {
+            return(new Color(ANSI.getExtendedColorRGB(color)));
+        }
+        return(new Color(color & 0xFFFFFF));
+    }
+    /**
+     * Receives the runs of text found by a parser.
+     */
+    public static interface Handler {
+        /**
+         * Called for each run of plain text.
+         * @param text the text, with escape sequences removed
+         * @param attributes the attributes for the run
+         */
+        public abstract void handleRun(String text, AttributeSet attributes);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.io;
+
+/**
+ * A state machine that recognizes ANSI CSI escape sequences
+ * ({@code ESC [ parameters intermediates final}) one character or byte at a
+ * time.
+ * <p>
+ * The filter keeps its state between calls, so a sequence that is split
+ * across two buffers is still recognized. It never allocates and does not
+ * use regular expressions. An {@code ESC} that is not followed by
+ * {@code [} is dropped and the character after it kept, and a sequence
+ * interrupted by a byte that cannot appear in one (a line break, say) ends
+ * at that byte, which is kept.
+ * <p>
+ * A filter is not thread-safe; each stream should have its own.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see ANSIStrippingOutputStream
+ * @see ANSIStrippingWriter
+ */
+public final class ANSIEscapeFilter {
+    public static final int ESC = 0x1B;
+    private static final int STATE_TEXT = 0;
+    private static final int STATE_ESCAPE = 1;
+    private static final int STATE_CSI = 2;
+    private int state = STATE_TEXT;
+    /**
+     * Feeds the next character or byte through the filter.
+     * @param c the character, or a byte as an unsigned value
+     * @return {@code true} if {@code c} is ordinary text that should be
+     * kept, {@code false} if it is part of an escape sequence
+     */
+    public boolean accept(int c) {
+        switch (state) {
+            case STATE_TEXT:
+                if (c == ESC) {
+                    state = STATE_ESCAPE;
+                    return(false);
+                }
+                return(true);
+            case STATE_ESCAPE:
+                if (c == '[') {
+                    state = STATE_CSI;
+                    return(false);
+                }
+                if (c == ESC) {
+                    return(false);
+                }
+                state = STATE_TEXT;
+                return(true);
+            default:
+                if (c >= 0x40 && c <= 0x7E) {
+                    state = STATE_TEXT;
+                    return(false);
+                }
+                if (c >= 0x20 && c <= 0x3F) {
+                    return(false);
+                }
+                if (c == ESC) {
+                    state = STATE_ESCAPE;
+                    return(false);
+                }
+                state = STATE_TEXT;
+                return(true);
+        }
+    }
+    /**
+     * Returns whether the filter is partway through an escape sequence.
+     * @return {@code true} if the last character accepted started or
+     * continued a sequence that has not ended yet
+     */
+    public boolean isInSequence() {
+        return(state != STATE_TEXT);
+    }
+    /**
+     * Forgets any partial escape sequence.
+     */
+    public void reset() {
+        state = STATE_TEXT;
+    }
+}
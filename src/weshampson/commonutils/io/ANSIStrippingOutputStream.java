@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that removes ANSI CSI escape sequences, such as console
+ * colors, from the bytes written to it.
+ * <p>
+ * Text between escape sequences is passed to the underlying stream as
+ * slices of the caller's array, without copying. Sequences split across
+ * calls to {@code write} are handled. Bytes are matched as ASCII, which is
+ * safe for UTF-8 since multi-byte characters never contain bytes below
+ * {@code 0x80}.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see ANSIEscapeFilter
+ */
+public class ANSIStrippingOutputStream extends FilterOutputStream {
+    private final ANSIEscapeFilter filter = new ANSIEscapeFilter();
+    public ANSIStrippingOutputStream(OutputStream out) {
+        super(out);
+    }
+    @Override
+    public void write(int b) throws IOException {
+        if (filter.accept(b & 0xFF)) {
+            out.write(b);
+        }
+    }
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int end = off + len;
+        int runStart = off;
+        for (int i = off; i < end; i++) {
+            if (!filter.accept(b[i] & 0xFF)) {
+                if (i > runStart) {
+                    out.write(b, runStart, i - runStart);
+                }
+                runStart = i + 1;
+            }
+        }
+        if (end > runStart) {
+            out.write(b, runStart, end - runStart);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.io;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer that removes ANSI CSI escape sequences, such as console colors,
+ * from the text written to it.
+ * <p>
+ * Text between escape sequences is passed to the underlying writer as
+ * slices of the caller's array or string, without copying. Sequences split
+ * across calls to {@code write} are handled.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see ANSIEscapeFilter
+ */
+public class ANSIStrippingWriter extends FilterWriter {
+    private final ANSIEscapeFilter filter = new ANSIEscapeFilter();
+    public ANSIStrippingWriter(Writer out) {
+        super(out);
+    }
+    @Override
+    public void write(int c) throws IOException {
+        if (filter.accept(c)) {
+            out.write(c);
+        }
+    }
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int end = off + len;
+        int runStart = off;
+        for (int i = off; i < end; i++) {
+            if (!filter.accept(cbuf[i])) {
+                if (i > runStart) {
+                    out.write(cbuf, runStart, i - runStart);
+                }
+                runStart = i + 1;
+            }
+        }
+        if (end > runStart) {
+            out.write(cbuf, runStart, end - runStart);
+        }
+    }
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int end = off + len;
+        int runStart = off;
+        for (int i = off; i < end; i++) {
+            if (!filter.accept(str.charAt(i))) {
+                if (i > runStart) {
+                    out.write(str, runStart, i - runStart);
+                }
+                runStart = i + 1;
+            }
+        }
+        if (end > runStart) {
+            out.write(str, runStart, end - runStart);
+        }
+    }
+}
@@ -19,31 +19,109 @@
 
 package weshampson.commonutils.io;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
+import javax.swing.text.Element;
 import javax.swing.text.JTextComponent;
 import javax.swing.text.SimpleAttributeSet;
 
 /**
- *
+ * An {@code OutputStream} that inserts text at the end of a Swing
+ * {@link Document}.
+ * <p>
+ * By default each write is inserted on its own: immediately when called on
+ * the event dispatch thread, or through {@link SwingUtilities#invokeLater}
+ * from any other thread, so the document is only ever changed on the event
+ * dispatch thread. In batching mode (see {@link #setBatchingEnabled(boolean)}) written text is collected
+ * instead, merging consecutive writes that share the same attributes, and
+ * the whole batch is inserted on the event dispatch thread once per
+ * {@link #getBatchInterval() batch interval}, followed by a single caret
+ * move. This keeps a burst of log messages from causing one insert, layout
+ * and repaint per line and makes it safe to write from any thread.
+ * <p>
+ * The document can also be capped at a maximum number of lines or
+ * characters. Once a cap is exceeded the oldest whole lines are removed in a
+ * single edit, down to {@link #TRIM_RATIO} of the cap, so a long-running
+ * session holds a bounded amount of text and trimming happens only once per
+ * many inserts. A line longer than the character cap is cut inside the line
+ * rather than removed whole.
+ * <p>
+ * With ANSI rendering turned on (see
+ * {@link #setANSIRenderingEnabled(boolean)}) escape sequences in the written
+ * text are interpreted instead of inserted: SGR color and style sequences
+ * become runs with matching attributes, layered over the attributes the
+ * text was written with, and every other sequence is dropped. Style carries
+ * over from one write to the next, and bytes are decoded with the platform
+ * charset as a stream, so a sequence or character split across writes is
+ * still handled. This lets the colored output of a child process or a
+ * terminal-oriented tool be copied straight into the document.
  * @author  Wes Hampson
- * @version 0.1.0 (Aug 26, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.1.0 (Aug 26, 2014)
  */
 public class DocumentOutputStream extends OutputStream {
+    public static final int DEFAULT_BATCH_INTERVAL = 16;
+    public static final double TRIM_RATIO = 0.9;
+    private static final int DECODE_BUFFER_SIZE = 8192;
     private final Document doc;
     private final JTextComponent textComponent;
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final Timer batchTimer;
+    private final ReentrantLock renderLock = new ReentrantLock();
+    private final ANSIAttributeParser aNSIParser = new ANSIAttributeParser();
+    private final ANSIAttributeParser.Handler renderHandler = new ANSIAttributeParser.Handler() {
+        @Override
+        public void handleRun(String text, AttributeSet attributes) {
+            insert(text, attributes);
+        }
+    };
+    private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer undecodedBytes = ByteBuffer.allocate(16);
+    private CharBuffer decodedChars;
     private SimpleAttributeSet attributeSet;
+    private volatile boolean batchingEnabled;
+    private volatile boolean aNSIRenderingEnabled;
+    private volatile int maximumLines;
+    private volatile int maximumCharacters;
+    private List<Run> pendingRuns = new ArrayList<>();
+    private boolean scrollPending;
+    private boolean flushScheduled;
     public DocumentOutputStream(JTextComponent textComponent) {
-        this.textComponent = textComponent;
-        this.doc = textComponent.getDocument();
+        this(textComponent, textComponent.getDocument());
     }
     public DocumentOutputStream(JTextPane textPane) {
-        this.textComponent = textPane;
-        this.doc = textPane.getStyledDocument();
+        this(textPane, textPane.getStyledDocument());
+    }
+    private DocumentOutputStream(JTextComponent textComponent, Document doc) {
+        this.textComponent = textComponent;
+        this.doc = doc;
+        this.batchTimer = new Timer(DEFAULT_BATCH_INTERVAL, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                applyPendingRuns();
+            }
+        });
+        this.batchTimer.setRepeats(false);
+        this.batchTimer.setCoalesce(true);
     }
     public Document getDocument() {
         return(doc);
@@ -54,27 +132,336 @@ public class DocumentOutputStream extends OutputStream {
     public JTextComponent getTextComponent() {
         return(textComponent);
     }
+    /**
+     * Returns the delay between the first write of a batch and the batch
+     * being inserted into the document.
+     * @return the batch interval in milliseconds
+     */
+    public int getBatchInterval() {
+        return(batchTimer.getInitialDelay());
+    }
+    /**
+     * Returns the maximum number of characters kept in the document.
+     * @return the character cap, or {@code 0} if there is none
+     */
+    public int getMaximumCharacters() {
+        return(maximumCharacters);
+    }
+    /**
+     * Returns the maximum number of lines kept in the document.
+     * @return the line cap, or {@code 0} if there is none
+     */
+    public int getMaximumLines() {
+        return(maximumLines);
+    }
+    public boolean isANSIRenderingEnabled() {
+        return(aNSIRenderingEnabled);
+    }
+    public boolean isBatchingEnabled() {
+        return(batchingEnabled);
+    }
+    public void setBatchInterval(int batchIntervalMillis) {
+        batchTimer.setInitialDelay(batchIntervalMillis);
+    }
+    /**
+     * Turns batching mode on or off. Turning it off inserts any text that is
+     * still pending.
+     * @param enabled {@code true} to collect writes and insert them on the
+     * event dispatch thread in batches
+     */
+    public void setBatchingEnabled(boolean enabled) {
+        batchingEnabled = enabled;
+        if (!enabled) {
+            flush();
+        }
+    }
+    /**
+     * Turns ANSI rendering on or off. Either way, any style left over from
+     * earlier output and any partially written sequence or character is
+     * discarded.
+     * @param enabled {@code true} to interpret ANSI escape sequences in
+     * written text instead of inserting them
+     */
+    public void setANSIRenderingEnabled(boolean enabled) {
+        renderLock.lock();
+        try {
+            aNSIRenderingEnabled = enabled;
+            aNSIParser.reset();
+            decoder.reset();
+            undecodedBytes.clear();
+        } finally {
+            renderLock.unlock();
+        }
+    }
     public void setDocumentAttributeSet(SimpleAttributeSet attributeSet) {
         this.attributeSet = attributeSet;
     }
+    /**
+     * Caps the number of characters kept in the document. The cap is
+     * enforced on the next write.
+     * @param maximumCharacters the character cap, or {@code 0} for none
+     */
+    public void setMaximumCharacters(int maximumCharacters) {
+        if (maximumCharacters < 0) {
+            throw new IllegalArgumentException("maximum characters must not be negative - " + maximumCharacters);
+        }
+        this.maximumCharacters = maximumCharacters;
+    }
+    /**
+     * Caps the number of lines kept in the document. The cap is enforced on
+     * the next write.
+     * @param maximumLines the line cap, or {@code 0} for none
+     */
+    public void setMaximumLines(int maximumLines) {
+        if (maximumLines < 0) {
+            throw new IllegalArgumentException("maximum lines must not be negative - " + maximumLines);
+        }
+        this.maximumLines = maximumLines;
+    }
+    /**
+     * Moves the text component's caret to the end of the document. In
+     * batching mode the caret is moved once, after the current batch has been
+     * inserted.
+     */
+    public void scrollToEnd() {
+        if (batchingEnabled) {
+            pendingLock.lock();
+            try {
+                scrollPending = true;
+                scheduleFlush();
+            } finally {
+                pendingLock.unlock();
+            }
+        } else if (SwingUtilities.isEventDispatchThread()) {
+            textComponent.setCaretPosition(doc.getLength());
+        } else {
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    textComponent.setCaretPosition(doc.getLength());
+                }
+            });
+        }
+    }
+    /**
+     * Inserts text at the end of the document without converting it to
+     * bytes first.
+     * @param s the text to insert
+     */
+    public void write(String s) {
+        write(s, attributeSet);
+    }
+    /**
+     * Inserts text at the end of the document with the given attributes,
+     * leaving the stream's own attribute set unchanged. Unlike calling
+     * {@link #setDocumentAttributeSet(SimpleAttributeSet)} followed by
+     * {@link #write(String)}, this is safe for several threads to call at
+     * once without any outside locking. In ANSI rendering mode the
+     * attributes are the base that SGR styles are layered over.
+     * @param s the text to insert
+     * @param attrs the attributes to insert the text with
+     */
+    public void write(String s, AttributeSet attrs) {
+        if (!aNSIRenderingEnabled) {
+            insert(s, attrs);
+            return;
+        }
+        renderLock.lock();
+        try {
+            aNSIParser.parse(s, attrs, renderHandler);
+        } finally {
+            renderLock.unlock();
+        }
+    }
     @Override
     public void write(int b) throws IOException {
-        try {
-            doc.insertString(doc.getLength(), String.valueOf(b), attributeSet);
-        } catch (BadLocationException ex) {
-            throw new RuntimeException(ex);
+        if (aNSIRenderingEnabled) {
+            write(new byte[] {(byte)b}, 0, 1);
+            return;
         }
+        insert(String.valueOf(b), attributeSet);
     }
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
+        if (!aNSIRenderingEnabled) {
+            insert(new String(b, off, len), attributeSet);
+            return;
+        }
+        renderLock.lock();
         try {
-            doc.insertString(doc.getLength(), new String(b, off, len), attributeSet);
-        } catch (BadLocationException ex) {
-            throw new RuntimeException(ex);
+            decodeAndRender(b, off, len, attributeSet);
+        } finally {
+            renderLock.unlock();
         }
     }
     @Override
     public void write(byte[] b) throws IOException {
         write(b, 0, b.length);
     }
+    /**
+     * In batching mode, inserts any pending text now if called on the event
+     * dispatch thread, or as soon as possible otherwise.
+     */
+    @Override
+    public void flush() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyPendingRuns();
+        } else {
+            pendingLock.lock();
+            try {
+                if (pendingRuns.isEmpty() && !scrollPending) {
+                    return;
+                }
+            } finally {
+                pendingLock.unlock();
+            }
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    applyPendingRuns();
+                }
+            });
+        }
+    }
+    /**
+     * Decodes bytes and passes the text to the ANSI parser. Bytes at the end
+     * that do not yet form a whole character are kept for the next write.
+     * Must be called with {@link #renderLock} held.
+     */
+    private void decodeAndRender(byte[] b, int off, int len, AttributeSet attrs) {
+        ByteBuffer in;
+        if (undecodedBytes.position() == 0) {
+            in = ByteBuffer.wrap(b, off, len);
+        } else {
+            undecodedBytes.flip();
+            in = ByteBuffer.allocate(undecodedBytes.remaining() + len);
+            in.put(undecodedBytes).put(b, off, len).flip();
+            undecodedBytes.clear();
+        }
+        if (decodedChars == null) {
+            decodedChars = CharBuffer.allocate(DECODE_BUFFER_SIZE);
+        }
+        CoderResult result;
+        do {
+            result = decoder.decode(in, decodedChars, false);
+            decodedChars.flip();
+            aNSIParser.parse(decodedChars, attrs, renderHandler);
+            decodedChars.clear();
+        } while (result.isOverflow());
+        if (in.remaining() > undecodedBytes.remaining()) {
+            in.position(in.limit() - undecodedBytes.remaining());
+        }
+        undecodedBytes.put(in);
+    }
+    private void insert(final String s, final AttributeSet attrs) {
+        if (!batchingEnabled) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                insertNow(s, attrs);
+                trim();
+            } else {
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        insertNow(s, attrs);
+                        trim();
+                    }
+                });
+            }
+            return;
+        }
+        pendingLock.lock();
+        try {
+            int last = pendingRuns.size() - 1;
+            if (last >= 0 && pendingRuns.get(last).attributes == attrs) {
+                pendingRuns.get(last).text.append(s);
+            } else {
+                pendingRuns.add(new Run(s, attrs));
+            }
+            scheduleFlush();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+    private void insertNow(String s, AttributeSet attrs) {
+        try {
+            doc.insertString(doc.getLength(), s, attrs);
+        } catch (BadLocationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+    /**
+     * Removes the oldest lines if the document is over either cap. Lines are
+     * removed down to {@link #TRIM_RATIO} of the cap, rounded out to a line
+     * boundary, in a single {@code remove} call. If rounding out would remove
+     * the last line, the character cap is applied inside that line instead.
+     */
+    private void trim() {
+        int maxLines = maximumLines;
+        int maxChars = maximumCharacters;
+        if (maxLines == 0 && maxChars == 0) {
+            return;
+        }
+        Element root = doc.getDefaultRootElement();
+        int removeTo = 0;
+        int lineCount = root.getElementCount();
+        if (maxLines > 0 && lineCount > maxLines) {
+            int keepLines = Math.max(1, (int)(maxLines * TRIM_RATIO));
+            removeTo = root.getElement(lineCount - keepLines).getStartOffset();
+        }
+        int length = doc.getLength();
+        if (maxChars > 0 && length > maxChars) {
+            int keepChars = (int)(maxChars * TRIM_RATIO);
+            int offset = length - keepChars;
+            Element line = root.getElement(root.getElementIndex(offset));
+            int lineStart = line.getStartOffset();
+            int lineEnd = Math.min(line.getEndOffset(), length);
+            removeTo = Math.max(removeTo, offset == lineStart || lineEnd >= length ? offset : lineEnd);
+        }
+        if (removeTo <= 0) {
+            return;
+        }
+        try {
+            doc.remove(0, removeTo);
+        } catch (BadLocationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+    /**
+     * Must be called with {@link #pendingLock} held.
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            batchTimer.restart();
+        }
+    }
+    private void applyPendingRuns() {
+        List<Run> runs;
+        boolean scroll;
+        pendingLock.lock();
+        try {
+            runs = pendingRuns;
+            scroll = scrollPending;
+            pendingRuns = new ArrayList<>();
+            scrollPending = false;
+            flushScheduled = false;
+        } finally {
+            pendingLock.unlock();
+        }
+        for (Run run : runs) {
+            insertNow(run.text.toString(), run.attributes);
+        }
+        trim();
+        if (scroll) {
+            textComponent.setCaretPosition(doc.getLength());
+        }
+    }
+    private static final class Run {
+        private final StringBuilder text;
+        private final AttributeSet attributes;
+        private Run(String text, AttributeSet attributes) {
+            this.text = new StringBuilder(text);
+            this.attributes = attributes;
+        }
+    }
 }
@@ -29,7 +29,7 @@ import weshampson.commonutils.logging.Logger;
 /**
  *
  * @author  Wes Hampson
- * @version 0.3.0 (Sep 20, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.3.0 (Sep 20, 2014)
  */
 public class JarUtils {
@@ -48,7 +48,7 @@ public class JarUtils {
         }
         fOut.close();
         rIn.close();
-        Logger.log(Level.INFO, "Extracted resource " + src + " to " + destFile.getAbsolutePath());
+        Logger.log(Level.INFO, "Extracted resource {} to {}", src, destFile.getAbsolutePath());
         return(destFile);
     }
 }
@@ -20,6 +20,8 @@
 package weshampson.commonutils.jvm;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -29,21 +31,54 @@ import weshampson.commonutils.logging.Logger;
 /**
  *
  * @author  Wes Hampson
- * @version 0.3.1 (Nov 23, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.3.0 (Sep 25, 2014)
  */
 public class JVMBuilder {
     public static int exec(String[] jVMArgs, String execFile, String[] execFileArgs) throws IOException, InterruptedException {
-        return(invokeNewJVMInstance(constructExecCommand(jVMArgs, execFile, execFileArgs)));
+        return(invokeNewJVMInstance(constructExecCommand(jVMArgs, execFile, execFileArgs), null));
     }
-    private static int invokeNewJVMInstance(List<String> execCommand) throws IOException, InterruptedException {
-        StringBuilder sb = new StringBuilder();
-        for (String s : execCommand) {
-            sb.append(s).append(' ');
+    /**
+     * Runs a new JVM and copies everything it writes to standard output and
+     * standard error to a stream as it arrives. The bytes are copied
+     * unchanged, so a {@link weshampson.commonutils.io.DocumentOutputStream}
+     * with ANSI rendering turned on shows colored output as it would appear
+     * in a terminal.
+     * @param jVMArgs the arguments passed to the JVM
+     * @param execFile the class or jar to run
+     * @param execFileArgs the arguments passed to the program
+     * @param output the stream that receives the process output; it is
+     * flushed but not closed
+     * @return the exit status of the process
+     * @throws IOException if the process cannot be started or its output
+     * cannot be copied
+     * @throws InterruptedException if the calling thread is interrupted while
+     * waiting for the process
+     */
+    public static int exec(String[] jVMArgs, String execFile, String[] execFileArgs, OutputStream output) throws IOException, InterruptedException {
+        return(invokeNewJVMInstance(constructExecCommand(jVMArgs, execFile, execFileArgs), output));
+    }
+    private static int invokeNewJVMInstance(List<String> execCommand, OutputStream output) throws IOException, InterruptedException {
+        if (Logger.isEnabled(Level.INFO)) {
+            StringBuilder sb = new StringBuilder();
+            for (String s : execCommand) {
+                sb.append(s).append(' ');
+            }
+            Logger.log(Level.INFO, "Executing: {}", sb);
         }
-        Logger.log(Level.INFO, "Executing: " + sb.toString());
         ProcessBuilder jVMInstance = new ProcessBuilder(execCommand);
+        jVMInstance.redirectErrorStream(output != null);
         Process p = jVMInstance.start();
+        if (output != null) {
+            byte[] buffer = new byte[8192];
+            try (InputStream in = p.getInputStream()) {
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    output.write(buffer, 0, bytesRead);
+                    output.flush();
+                }
+            }
+        }
         int exitStatus = p.waitFor();
         return(exitStatus);
     }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.Closeable;
+import java.io.Flushable;
+
+/**
+ * A destination for log events, such as a file or a Swing document.
+ * <p>
+ * Appenders are registered with {@link Logger#addAppender(Appender)} and
+ * receive every event the logger prints, after the console output. The same
+ * {@link LogEvent} instance is passed to every appender, so the prefix and
+ * text are only formatted once. Wrap an appender in an {@link AsyncAppender}
+ * to keep a slow destination from holding up the others.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public interface Appender extends Closeable, Flushable {
+    public abstract void append(LogEvent event);
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to another {@link Appender} on a dedicated worker thread.
+ * <p>
+ * {@link #append(LogEvent)} only offers the event to a bounded queue. If the
+ * queue is full because the wrapped appender cannot keep up, the logging
+ * thread waits for up to the block timeout for room, or not at all if the
+ * timeout is {@code 0}, and then drops the event and counts it. Before the
+ * next event is delivered, the wrapped appender is sent a warning saying
+ * how many events were dropped, so a gap in the output never goes
+ * unnoticed.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class AsyncAppender implements Appender {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final long DEFAULT_FLUSH_TIMEOUT = 5000;
+    private static final LogEvent SHUTDOWN = new LogEvent(null, null, "", false, 0, null);
+    private final Appender appender;
+    private final BlockingQueue<LogEvent> queue;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong unreportedDrops = new AtomicLong();
+    private final long blockTimeout;
+    private final Thread worker;
+    private final SinkMetrics metrics;
+    private volatile boolean closed;
+    public AsyncAppender(Appender appender) {
+        this(appender, DEFAULT_QUEUE_CAPACITY);
+    }
+    public AsyncAppender(Appender appender, int queueCapacity) {
+        this(appender, queueCapacity, 0);
+    }
+    /**
+     * Creates a new appender.
+     * @param appender the appender that events are delivered to
+     * @param queueCapacity the number of events that may be queued
+     * @param blockTimeoutMillis how long a logging thread waits for room in
+     * a full queue before dropping its event, or {@code 0} to drop it at
+     * once
+     */
+    public AsyncAppender(Appender appender, int queueCapacity, long blockTimeoutMillis) {
+        this.appender = appender;
+        this.blockTimeout = blockTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.metrics = LogMetrics.createSinkMetrics(getClass().getSimpleName());
+        this.worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                deliver();
+            }
+        }, "AsyncAppender-" + appender.getClass().getSimpleName());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+    public long getBlockTimeout() {
+        return(blockTimeout);
+    }
+    public Appender getAppender() {
+        return(appender);
+    }
+    /**
+     * Returns the number of events dropped because the queue was full.
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return(droppedEvents.get());
+    }
+    public SinkMetrics getMetrics() {
+        return(metrics);
+    }
+    public int getQueueSize() {
+        return(queue.size());
+    }
+    @Override
+    public void append(LogEvent event) {
+        if (closed) {
+            metrics.recordDrop();
+            return;
+        }
+        pendingEvents.incrementAndGet();
+        if (enqueue(event)) {
+            metrics.recordEvent();
+        } else {
+            pendingEvents.decrementAndGet();
+            droppedEvents.incrementAndGet();
+            unreportedDrops.incrementAndGet();
+            metrics.recordDrop();
+        }
+    }
+    /**
+     * Queues an event, waiting for up to the block timeout if the queue is
+     * full. The wait is not cut short by an interrupt; the thread's
+     * interrupt status is restored afterwards.
+     */
+    private boolean enqueue(LogEvent event) {
+        if (queue.offer(event)) {
+            return(true);
+        }
+        if (blockTimeout <= 0) {
+            return(false);
+        }
+        boolean interrupted = Thread.interrupted();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeout);
+        try {
+            while (true) {
+                try {
+                    return(queue.offer(event, deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    /**
+     * Waits, for up to {@link #DEFAULT_FLUSH_TIMEOUT} milliseconds, for every
+     * queued event to be delivered and then flushes the wrapped appender.
+     * @throws IOException if the wrapped appender fails to flush
+     */
+    @Override
+    public void flush() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_TIMEOUT);
+        while (pendingEvents.get() > 0 && worker.isAlive() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        metrics.recordFlush();
+        appender.flush();
+    }
+    /**
+     * Stops accepting events, delivers the ones already queued and closes the
+     * wrapped appender.
+     * @throws IOException if the wrapped appender fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        metrics.close();
+        try {
+            if (queue.offer(SHUTDOWN, DEFAULT_FLUSH_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                worker.join(DEFAULT_FLUSH_TIMEOUT);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        appender.close();
+    }
+    private void deliver() {
+        while (true) {
+            LogEvent event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (event == SHUTDOWN) {
+                return;
+            }
+            try {
+                reportDrops();
+                appender.append(event);
+            } catch (RuntimeException ex) {
+                ex.printStackTrace(Logger.DEFAULT_STDERR);
+                Logger.DEFAULT_STDERR.flush();
+            } finally {
+                pendingEvents.decrementAndGet();
+            }
+        }
+    }
+    private void reportDrops() {
+        long dropped = unreportedDrops.getAndSet(0);
+        if (dropped == 0) {
+            return;
+        }
+        String message = dropped + (dropped == 1 ? " log event was" : " log events were") + " dropped because the queue was full";
+        appender.append(new LogEvent(Level.WARNING, Logger.parsePrefix(Level.WARNING, Level.WARNING.getPrefix()), message, true, System.currentTimeMillis(), Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package weshampson.commonutils.logging;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands log events off to a single background thread through a bounded,
+ * pre-allocated ring buffer.
+ * <p>
+ * Any number of threads may call {@link #publish}. Each call claims the next
+ * slot in the ring, copies the event into it and marks the slot as
+ * published; no objects are allocated and no locks are taken unless the
+ * {@link WaitStrategy} needs to wake the consumer. The consumer thread
+ * drains slots in order and passes each event to
+ * {@link Logger#print(Level, String, boolean, boolean)} on the installed
+ * logger. If the ring is full, producers back off until the consumer frees a
+ * slot.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class AsyncLogDispatcher {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long CLOSED = Long.MIN_VALUE;
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong claimSequence = new AtomicLong(0);
+    private final AtomicLong consumerSequence = new AtomicLong(-1);
+    private final WaitStrategy waitStrategy;
+    private final Thread consumerThread;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean running;
+    public AsyncLogDispatcher() {
+        this(DEFAULT_BUFFER_SIZE, new WaitStrategy.Blocking());
+    }
+    /**
+     * Creates a new dispatcher. The consumer thread is not started until
+     * {@link #start()} is called.
+     * @param bufferSize the number of slots in the ring buffer; rounded up to
+     * the next power of two
+     * @param waitStrategy the strategy used by the consumer when the ring
+     * buffer is empty
+     */
+    public AsyncLogDispatcher(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size must be positive - " + bufferSize);
+        }
+        int capacity = Integer.highestOneBit(bufferSize);
+        if (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedSequences.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+        this.consumerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                consume();
+            }
+        }, "AsyncLogDispatcher");
+        this.consumerThread.setDaemon(true);
+    }
+    public int getBufferSize() {
+        return(ring.length);
+    }
+    public WaitStrategy getWaitStrategy() {
+        return(waitStrategy);
+    }
+    /**
+     * Returns whether there are events that have been claimed by a producer
+     * but not yet consumed.
+     * @return {@code true} if the consumer has work to do
+     */
+    public boolean hasPendingEvents() {
+        long claimed = claimSequence.get();
+        if (claimed == CLOSED) {
+            return(false);
+        }
+        return(claimed - 1 > consumerSequence.get());
+    }
+    public boolean isRunning() {
+        return(running);
+    }
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        running = true;
+        consumerThread.start();
+    }
+    /**
+     * Copies an event into the ring buffer.
+     * @param level the level to log at
+     * @param message the message to log
+     * @param writePrefix whether the level's prefix should be written
+     * @param newLine whether a line terminator should be written
+     * @return {@code true} if the event was queued, {@code false} if the
+     * dispatcher has been shut down and the caller should log the event
+     * itself
+     */
+    public boolean publish(Level level, String message, boolean writePrefix, boolean newLine) {
+        return(publish(level, message, null, null, null, writePrefix, newLine));
+    }
+    /**
+     * Copies an event, along with the pattern and arguments its message was
+     * formatted from and any structured fields, into the ring buffer.
+     * @param level the level to log at
+     * @param message the formatted message
+     * @param pattern the message pattern, or {@code null}
+     * @param args the pattern arguments, or {@code null}
+     * @param fields the structured fields, or {@code null}
+     * @param writePrefix whether the level's prefix should be written
+     * @param newLine whether a line terminator should be written
+     * @return {@code true} if the event was queued, {@code false} if the
+     * dispatcher has been shut down and the caller should log the event
+     * itself
+     */
+    public boolean publish(Level level, String message, String pattern, Object[] args, LogFields fields, boolean writePrefix, boolean newLine) {
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (sequence == CLOSED || !running) {
+                return(false);
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+        long wrapPoint = sequence - ring.length;
+        int backoff = 0;
+        while (wrapPoint > consumerSequence.get()) {
+            backoff = backoff(backoff);
+        }
+        int index = (int)sequence & mask;
+        Slot slot = ring[index];
+        slot.level = level;
+        slot.message = message;
+        slot.pattern = pattern;
+        slot.args = args;
+        slot.fields = fields;
+        slot.writePrefix = writePrefix;
+        slot.newLine = newLine;
+        slot.timeMillis = System.currentTimeMillis();
+        slot.thread = Thread.currentThread();
+        publishedSequences.set(index, sequence);
+        waitStrategy.signal();
+        return(true);
+    }
+    /**
+     * Stops accepting new events, waits for every event already in the ring
+     * buffer to be printed and then stops the consumer thread.
+     * @param timeoutMillis the maximum time to wait for the ring buffer to
+     * drain, or {@code 0} to wait forever
+     * @return {@code true} if the ring buffer was fully drained
+     * @throws InterruptedException if the calling thread is interrupted while
+     * waiting
+     */
+    public boolean shutdown(long timeoutMillis) throws InterruptedException {
+        if (!started.compareAndSet(true, false)) {
+            return(!consumerThread.isAlive());
+        }
+        running = false;
+        waitStrategy.signal();
+        if (Thread.currentThread() != consumerThread) {
+            consumerThread.join(timeoutMillis);
+        }
+        return(!consumerThread.isAlive());
+    }
+    private void consume() {
+        long nextSequence = 0;
+        int idleCount = 0;
+        while (true) {
+            int index = (int)nextSequence & mask;
+            if (publishedSequences.get(index) == nextSequence) {
+                Slot slot = ring[index];
+                try {
+                    Logger.dispatch(slot.level, slot.message, slot.pattern, slot.args, slot.fields, slot.writePrefix, slot.newLine, slot.timeMillis, slot.thread);
+                } catch (RuntimeException ex) {
+                    ex.printStackTrace(Logger.DEFAULT_STDERR);
+                    Logger.DEFAULT_STDERR.flush();
+                } finally {
+                    slot.level = null;
+                    slot.message = null;
+                    slot.pattern = null;
+                    slot.args = null;
+                    slot.fields = null;
+                    slot.thread = null;
+                    consumerSequence.lazySet(nextSequence);
+                }
+                nextSequence++;
+                idleCount = 0;
+                continue;
+            }
+            if (!running && claimSequence.compareAndSet(nextSequence, CLOSED)) {
+                return;
+            }
+            try {
+                waitStrategy.idle(this, idleCount++);
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+        }
+    }
+    private static int backoff(int count) {
+        if (count < 100) {
+            return(count + 1);
+        }
+        if (count < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1000L);
+        }
+        return(count + 1);
+    }
+    private static final class Slot {
+        private Level level;
+        private String message;
+        private String pattern;
+        private Object[] args;
+        private LogFields fields;
+        private boolean writePrefix;
+        private boolean newLine;
+        private long timeMillis;
+        private Thread thread;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A {@link FileAppender} that writes gzip-compressed output.
+ * <p>
+ * Batches of encoded text are handed to a background thread, which
+ * compresses them and writes the result to the file as a series of
+ * independent gzip members. A member is ended once it holds
+ * {@link #getBlockSize() block size} bytes of text, whenever the background
+ * thread runs out of work, and on {@link #flush()}. Each member is written in
+ * a single call, so after a crash every member but possibly the last is
+ * complete. Standard tools such as {@code gzip -dc} and
+ * {@link java.util.zip.GZIPInputStream} read the concatenated members as
+ * one stream.
+ * <p>
+ * If the background thread falls behind by more than the queue capacity,
+ * the logging thread waits for it instead of dropping text. The wait is not
+ * cut short by an interrupt; the thread's interrupt status is restored once
+ * the text has been queued. Timed flushes are skipped while the background
+ * thread is behind, so the shared flush timer never waits.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class CompressedFileAppender extends FileAppender {
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+    private static final byte[] GZIP_HEADER = {0x1F, (byte)0x8B, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xFF};
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private final int blockSize;
+    private final int compressionLevel;
+    private final BlockingQueue<Block> queue;
+    private final BlockingQueue<Block> freeBlocks;
+    private final Block flushMarker = new Block(0);
+    private final Block stopMarker = new Block(0);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Condition writesCompleted = writeLock.newCondition();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final Thread worker;
+    private long flushesRequested;
+    private long flushesCompleted;
+    private volatile IOException writeError;
+    public CompressedFileAppender(FileOutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL, Durability.NONE, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+    /**
+     * Creates a new appender.
+     * @param out the stream to write to
+     * @param bufferSize the number of bytes buffered before a batch is
+     * handed to the background thread
+     * @param flushIntervalMillis the maximum time buffered text may wait
+     * before being handed to the background thread
+     * @param durability when written gzip members are forced to the storage device
+     * @param blockSize the number of uncompressed bytes after which a gzip
+     * member is ended
+     * @param compressionLevel the {@link Deflater} compression level
+     */
+    public CompressedFileAppender(FileOutputStream out, int bufferSize, long flushIntervalMillis, Durability durability, int blockSize, int compressionLevel) {
+        super(out, bufferSize, flushIntervalMillis, durability);
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block size must be positive - " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.compressionLevel = compressionLevel;
+        this.queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY + 2);
+        this.freeBlocks = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
+        for (int i = 0; i < DEFAULT_QUEUE_CAPACITY; i++) {
+            freeBlocks.add(new Block(bufferSize));
+        }
+        this.worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                compress();
+            }
+        }, "CompressedFileAppender");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+    public int getBlockSize() {
+        return(blockSize);
+    }
+    public int getCompressionLevel() {
+        return(compressionLevel);
+    }
+    /**
+     * Returns the number of compressed bytes written to the file, including
+     * gzip headers and trailers.
+     * @return the number of bytes written
+     */
+    public long getCompressedByteCount() {
+        return(compressedBytes.get());
+    }
+    @Override
+    protected void writeBatch(ByteBuffer batch) throws IOException {
+        checkWriteError();
+        boolean interrupted = false;
+        try {
+            Block block = null;
+            while (block == null) {
+                try {
+                    block = freeBlocks.take();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            block.length = batch.remaining();
+            batch.get(block.data, 0, block.length);
+            interrupted |= putUninterruptibly(block);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    /**
+     * Returns {@code false} while every block is waiting to be compressed, so
+     * that the shared flush timer does not wait for the background thread.
+     */
+    @Override
+    protected boolean canWriteWithoutBlocking() {
+        return(!freeBlocks.isEmpty());
+    }
+    @Override
+    protected void awaitWrites() throws IOException {
+        if (!worker.isAlive()) {
+            checkWriteError();
+            return;
+        }
+        writeLock.lock();
+        boolean interrupted = false;
+        try {
+            long request = ++flushesRequested;
+            interrupted = putUninterruptibly(flushMarker);
+            while (flushesCompleted < request && worker.isAlive()) {
+                writesCompleted.awaitUninterruptibly();
+            }
+        } finally {
+            writeLock.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkWriteError();
+    }
+    @Override
+    void release() {
+        super.release();
+        if (!worker.isAlive()) {
+            return;
+        }
+        boolean interrupted = putUninterruptibly(stopMarker);
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    /**
+     * Hands a block to the background thread, waiting through interrupts so
+     * that no text is lost.
+     * @return {@code true} if the thread was interrupted while waiting
+     */
+    private boolean putUninterruptibly(Block block) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(block);
+                return(interrupted);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+    }
+    private void checkWriteError() throws IOException {
+        IOException ex = writeError;
+        if (ex != null) {
+            throw ex;
+        }
+    }
+    private void compress() {
+        Deflater deflater = new Deflater(compressionLevel, true);
+        CRC32 crc = new CRC32();
+        MemberBuffer member = new MemberBuffer(blockSize / 2);
+        byte[] output = new byte[64 * 1024];
+        long uncompressedLength = 0;
+        try {
+            while (true) {
+                Block block = queue.poll();
+                if (block == null) {
+                    if (uncompressedLength > 0) {
+                        endMember(deflater, crc, member, output, uncompressedLength);
+                        uncompressedLength = 0;
+                    }
+                    block = queue.take();
+                }
+                if (block == stopMarker) {
+                    return;
+                }
+                if (block == flushMarker) {
+                    if (uncompressedLength > 0) {
+                        endMember(deflater, crc, member, output, uncompressedLength);
+                        uncompressedLength = 0;
+                    }
+                    signalFlushCompleted();
+                    continue;
+                }
+                if (uncompressedLength == 0) {
+                    member.reset();
+                    member.write(GZIP_HEADER, GZIP_HEADER.length);
+                }
+                crc.update(block.data, 0, block.length);
+                deflater.setInput(block.data, 0, block.length);
+                while (!deflater.needsInput()) {
+                    member.write(output, deflater.deflate(output, 0, output.length, Deflater.NO_FLUSH));
+                }
+                uncompressedLength += block.length;
+                freeBlocks.add(block);
+                if (uncompressedLength >= blockSize) {
+                    endMember(deflater, crc, member, output, uncompressedLength);
+                    uncompressedLength = 0;
+                }
+            }
+        } catch (InterruptedException ex) {
+            return;
+        } finally {
+            deflater.end();
+            signalFlushCompleted();
+        }
+    }
+    private void endMember(Deflater deflater, CRC32 crc, MemberBuffer member, byte[] output, long uncompressedLength) {
+        deflater.finish();
+        while (!deflater.finished()) {
+            member.write(output, deflater.deflate(output));
+        }
+        int value = (int)crc.getValue();
+        for (int i = 0; i < 4; i++) {
+            output[i] = (byte)(value >>> (i * 8));
+            output[i + 4] = (byte)(uncompressedLength >>> (i * 8));
+        }
+        member.write(output, GZIP_TRAILER_LENGTH);
+        deflater.reset();
+        crc.reset();
+        if (writeError != null) {
+            return;
+        }
+        try {
+            getOutputStream().write(member.data, 0, member.length);
+            applyDurability();
+            compressedBytes.addAndGet(member.length);
+        } catch (IOException ex) {
+            writeError = ex;
+        }
+    }
+    private void signalFlushCompleted() {
+        writeLock.lock();
+        try {
+            flushesCompleted++;
+            writesCompleted.signalAll();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    private static final class Block {
+        private final byte[] data;
+        private int length;
+        private Block(int capacity) {
+            this.data = new byte[capacity];
+        }
+    }
+    private static final class MemberBuffer {
+        private byte[] data;
+        private int length;
+        private MemberBuffer(int capacity) {
+            this.data = new byte[Math.max(capacity, 64)];
+        }
+        private void reset() {
+            length = 0;
+        }
+        private void write(byte[] b, int count) {
+            if (length + count > data.length) {
+                byte[] grown = new byte[Math.max(data.length * 2, length + count)];
+                System.arraycopy(data, 0, grown, 0, length);
+                data = grown;
+            }
+            System.arraycopy(b, 0, data, length, count);
+            length += count;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+import weshampson.commonutils.ansi.ANSI;
+
+/**
+ * Writes log messages to standard output or standard error as UTF-8 bytes,
+ * without going through a {@link java.io.PrintWriter}.
+ * <p>
+ * Each message is assembled in a reusable buffer and written to the stream's
+ * file descriptor in one call. The parts that rarely change, namely the
+ * level's console escape sequence, a constant prefix, the reset sequence and
+ * the line separator, are copied in as bytes that were encoded once. Runs of
+ * ASCII text are copied a character at a time; only text outside ASCII goes
+ * through a {@link CharsetEncoder}.
+ * <p>
+ * Like {@link java.io.PrintWriter}, the {@code print} methods never throw;
+ * use {@link #checkError()} to find out whether a write has failed. The
+ * buffer is drained through a {@link FileOutputStream} rather than a
+ * {@code FileChannel}, because a channel is closed for good when a thread
+ * writing to it is interrupted.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public final class ConsoleOutput {
+    public static final int BUFFER_SIZE = 8192;
+    private static final byte[] LINE_SEPARATOR_BYTES = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ANSI_NORMAL_BYTES = ANSI.ANSI_NORMAL.getBytes(StandardCharsets.UTF_8);
+    private final FileOutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean error;
+    /**
+     * Creates an output that writes to a stream. The stream is not closed by
+     * this class.
+     * @param out the stream to write to
+     */
+    public ConsoleOutput(FileOutputStream out) {
+        this.out = out;
+    }
+    /**
+     * Returns the shared output for standard output.
+     * @return the output for {@link FileDescriptor#out}
+     */
+    public static ConsoleOutput getStdout() {
+        return(StdoutHolder.STDOUT);
+    }
+    /**
+     * Returns the shared output for standard error.
+     * @return the output for {@link FileDescriptor#err}
+     */
+    public static ConsoleOutput getStderr() {
+        return(StderrHolder.STDERR);
+    }
+    /**
+     * Returns the shared output for a level's stream.
+     * @param level the level
+     * @return {@link #getStderr()} if the level writes to standard error,
+     * {@link #getStdout()} otherwise
+     */
+    public static ConsoleOutput forLevel(Level level) {
+        return(level.getStream() == Logger.STREAM_STDERR ? getStderr() : getStdout());
+    }
+    /**
+     * Returns whether a write has failed.
+     * @return {@code true} if any write has thrown an {@code IOException}
+     */
+    public boolean checkError() {
+        return(error);
+    }
+    /**
+     * Writes a log message.
+     * @param level the level the message is logged at
+     * @param prefix the rendered prefix, or {@code null} for none
+     * @param message the message text
+     * @param newLine whether to end the message with a line separator
+     * @param color whether to surround the message with the level's console
+     * escape sequence and the reset sequence
+     */
+    public void print(Level level, String prefix, CharSequence message, boolean newLine, boolean color) {
+        lock.lock();
+        try {
+            if (color) {
+                put(level.getConsoleEscapeBytes());
+            }
+            if (prefix != null) {
+                PrefixTemplate template = level.getPrefixTemplate();
+                byte[] prefixBytes = template.getConstantBytes();
+                if (prefixBytes != null && prefix == template.render(null)) {
+                    put(prefixBytes);
+                } else {
+                    encode(prefix);
+                }
+            }
+            encode(message);
+            if (color) {
+                put(ANSI_NORMAL_BYTES);
+            }
+            if (newLine) {
+                put(LINE_SEPARATOR_BYTES);
+            }
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Writes text.
+     * @param text the text to write
+     */
+    public void print(CharSequence text) {
+        lock.lock();
+        try {
+            encode(text);
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+    private void put(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+    /**
+     * Encodes text into the buffer. ASCII characters are stored directly;
+     * from the first character outside ASCII the rest of the text is passed
+     * to the encoder.
+     */
+    private void encode(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                encodeSlow(text, i, length);
+                return;
+            }
+            buffer.put((byte)c);
+            i++;
+        }
+    }
+    private void encodeSlow(CharSequence text, int start, int end) {
+        CharBuffer in = CharBuffer.wrap(text, start, end);
+        encoder.reset();
+        CoderResult result;
+        do {
+            result = encoder.encode(in, buffer, true);
+            if (result.isOverflow()) {
+                drain();
+            }
+        } while (result.isOverflow());
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+    private void drain() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        try {
+            out.write(buffer.array(), 0, buffer.position());
+        } catch (IOException ex) {
+            error = true;
+        } finally {
+            buffer.clear();
+        }
+    }
+    private static final class StdoutHolder {
+        private static final ConsoleOutput STDOUT = new ConsoleOutput(new FileOutputStream(FileDescriptor.out));
+    }
+    private static final class StderrHolder {
+        private static final ConsoleOutput STDERR = new ConsoleOutput(new FileOutputStream(FileDescriptor.err));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.IOException;
+import weshampson.commonutils.io.DocumentOutputStream;
+
+/**
+ * Writes log events to a Swing document through a
+ * {@link DocumentOutputStream}, using each level's document attributes, and
+ * scrolls the document's text component to the end. Enable batching on the
+ * stream to have the text inserted on the event dispatch thread.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class DocumentAppender implements Appender {
+    private final DocumentOutputStream documentOutputStream;
+    private final SinkMetrics metrics;
+    public DocumentAppender(DocumentOutputStream documentOutputStream) {
+        this.documentOutputStream = documentOutputStream;
+        this.metrics = LogMetrics.createSinkMetrics(getClass().getSimpleName());
+    }
+    public DocumentOutputStream getDocumentOutputStream() {
+        return(documentOutputStream);
+    }
+    public SinkMetrics getMetrics() {
+        return(metrics);
+    }
+    @Override
+    public void append(LogEvent event) {
+        String text = event.getText();
+        documentOutputStream.write(text, event.getLevel().getDocumentAttributeSet());
+        documentOutputStream.scrollToEnd();
+        metrics.recordEvent();
+        metrics.recordBytes(text.length());
+    }
+    @Override
+    public void flush() throws IOException {
+    }
+    /**
+     * Stops publishing this appender's metrics. The document itself belongs
+     * to its text component and is left alone.
+     */
+    @Override
+    public void close() throws IOException {
+        metrics.close();
+    }
+}
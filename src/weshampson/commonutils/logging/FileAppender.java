@@ -0,0 +1,533 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package weshampson.commonutils.logging;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import weshampson.commonutils.io.ANSIEscapeFilter;
+
+/**
+ * Writes log text to a file through a reusable buffer.
+ * <p>
+ * Text is encoded straight into the buffer as UTF-8. The buffer is written to
+ * the file as one batch when it fills up, when the flush interval elapses, or
+ * when {@link #flush()} is called, so messages logged close together by any
+ * number of threads share a single write. When written data is forced to the
+ * storage device is controlled by the {@link Durability} policy.
+ * <p>
+ * Batches are written with {@link FileOutputStream#write(byte[], int, int)}
+ * rather than through the stream's {@code FileChannel}: a channel is closed
+ * for good when a thread writing to it has been interrupted, which would let
+ * one log call from an interrupted thread end all logging to the file. If a
+ * write fails, the batch is kept and retried with the next one; text is only
+ * dropped once the buffer has no room left for it.
+ * <p>
+ * If ANSI stripping is turned on, escape sequences such as console colors
+ * are left out while the text is encoded, so text formatted for the console
+ * can be appended as it is.
+ * <p>
+ * Like {@link java.io.PrintWriter}, the {@code append} methods never throw;
+ * use {@link #checkError()} to find out whether the last write failed.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class FileAppender implements Appender {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL = 500;
+    private static final int MAX_BYTES_PER_CHAR = 4;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final byte[] LINE_SEPARATOR_BYTES = LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+    private static final Set<FileAppender> OPEN_APPENDERS = Collections.newSetFromMap(new ConcurrentHashMap<FileAppender, Boolean>());
+    protected final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer buffer;
+    private final long flushInterval;
+    private final Durability durability;
+    private final SinkMetrics metrics;
+    private final ANSIEscapeFilter escapeFilter = new ANSIEscapeFilter();
+    private volatile boolean stripANSI;
+    private FileOutputStream out;
+    private ScheduledFuture<?> flushTask;
+    private IOException error;
+    private boolean started;
+    private boolean closed;
+    public FileAppender(FileOutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL, Durability.NONE);
+    }
+    /**
+     * Creates a new appender.
+     * @param out the stream to write to
+     * @param bufferSize the number of bytes buffered before a batch is
+     * written
+     * @param flushIntervalMillis the maximum time buffered text may wait
+     * before being written, or {@code 0} to only write when the buffer is
+     * full or {@link #flush()} is called
+     * @param durability when written data is forced to the storage device
+     */
+    public FileAppender(FileOutputStream out, int bufferSize, long flushIntervalMillis, Durability durability) {
+        if (bufferSize < MAX_BYTES_PER_CHAR) {
+            throw new IllegalArgumentException("buffer size too small - " + bufferSize);
+        }
+        this.out = out;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.flushInterval = flushIntervalMillis;
+        this.durability = durability;
+        this.metrics = LogMetrics.createSinkMetrics(getClass().getSimpleName());
+        Logger.installShutdownHook();
+    }
+    public Durability getDurability() {
+        return(durability);
+    }
+    public long getFlushInterval() {
+        return(flushInterval);
+    }
+    public int getBufferSize() {
+        return(buffer.capacity());
+    }
+    public SinkMetrics getMetrics() {
+        return(metrics);
+    }
+    public boolean isANSIStrippingEnabled() {
+        return(stripANSI);
+    }
+    /**
+     * Sets whether ANSI escape sequences are removed from appended text.
+     * @param enabled whether escape sequences are removed
+     * @see ANSIEscapeFilter
+     */
+    public void setANSIStrippingEnabled(boolean enabled) {
+        stripANSI = enabled;
+    }
+    /**
+     * Appends text to the buffer, writing a batch first if there is not
+     * enough room.
+     * @param text the text to append
+     */
+    public void append(CharSequence text) {
+        lock.lock();
+        try {
+            if (!accept()) {
+                return;
+            }
+            reserve(text.length());
+            encode(text);
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Appends one log message to the buffer as a single unit, so that
+     * messages from different threads are never interleaved.
+     * @param prefix the rendered level prefix, or {@code null} for none
+     * @param message the message text
+     * @param newLine whether to append a line separator
+     */
+    public void append(CharSequence prefix, CharSequence message, boolean newLine) {
+        lock.lock();
+        try {
+            if (!accept()) {
+                return;
+            }
+            reserve((prefix == null ? 0 : prefix.length()) + message.length() + (newLine ? LINE_SEPARATOR.length() : 0));
+            if (prefix != null) {
+                encode(prefix);
+            }
+            encode(message);
+            if (newLine) {
+                if (stripANSI && escapeFilter.isInSequence()) {
+                    encode(LINE_SEPARATOR);
+                } else {
+                    put(LINE_SEPARATOR_BYTES);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    @Override
+    public void append(LogEvent event) {
+        append(event.getPrefix(), event.getMessage(), event.isNewLine());
+    }
+    /**
+     * Returns whether the last write failed. The error is cleared once the
+     * kept bytes have been written successfully.
+     * @return {@code true} if an {@link IOException} is outstanding
+     */
+    public boolean checkError() {
+        lock.lock();
+        try {
+            return(error != null);
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Writes any buffered text to the file and applies the durability
+     * policy.
+     * @throws IOException if the write fails
+     */
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            commit();
+            completeWrites();
+            if (error != null) {
+                throw error;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Flushes any buffered text and closes the underlying stream. The stream
+     * is closed even if the appender has already been released.
+     * @throws IOException if the final write or the close fails
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            boolean wasOpen = !closed;
+            release();
+            out.close();
+            if (wasOpen && error != null) {
+                throw error;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Flushes any buffered text and stops the flush timer without closing
+     * the underlying stream. Used when a logger stops writing to a stream
+     * that it does not own.
+     */
+    void release() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            commit();
+            completeWrites();
+            closed = true;
+            if (flushTask != null) {
+                flushTask.cancel(false);
+            }
+            OPEN_APPENDERS.remove(this);
+            metrics.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+    protected FileOutputStream getOutputStream() {
+        return(out);
+    }
+    /**
+     * Replaces the stream batches are written to. Must be called with
+     * {@link #lock} held.
+     * @param out the new stream
+     */
+    protected void setOutputStream(FileOutputStream out) {
+        this.out = out;
+    }
+    /**
+     * Called with {@link #lock} held just before a batch is written.
+     * Subclasses may use this to switch to a different stream.
+     * @param batchSize the number of bytes about to be written
+     * @throws IOException if preparing the stream fails; the batch is kept
+     */
+    protected void beforeCommit(int batchSize) throws IOException {
+    }
+    /**
+     * Writes the buffered bytes to the file. If the write fails, the bytes
+     * that were not written stay in the buffer; a later successful write
+     * clears the error. Must be called with {@link #lock} held.
+     */
+    protected void commit() {
+        if (buffer.position() == 0 || closed) {
+            return;
+        }
+        buffer.flip();
+        int batchSize = buffer.remaining();
+        try {
+            beforeCommit(batchSize);
+            writeBatch(buffer);
+            metrics.recordBytes(batchSize);
+            metrics.recordFlush();
+            buffer.clear();
+            error = null;
+        } catch (IOException ex) {
+            error = ex;
+            buffer.compact();
+        }
+    }
+    /**
+     * Commits the buffer if it has fewer than the given number of bytes
+     * free. If the commit fails and there is still not enough room, the
+     * buffered text is dropped so that logging can go on. Must be called
+     * with {@link #lock} held.
+     * @param bytes the number of bytes needed
+     */
+    private void makeRoom(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        commit();
+        if (buffer.remaining() < bytes) {
+            buffer.clear();
+            metrics.recordDrop();
+        }
+    }
+    /**
+     * Writes one batch of encoded text to the file and applies the
+     * durability policy. Called with {@link #lock} held. Subclasses may
+     * override this to transform the bytes or hand them to another thread.
+     * On success the buffer is cleared as soon as this method returns; bytes
+     * that have not been consumed when it throws are kept for the next
+     * batch.
+     * @param batch the bytes to write, from its position to its limit
+     * @throws IOException if the write fails
+     */
+    protected void writeBatch(ByteBuffer batch) throws IOException {
+        out.write(batch.array(), batch.arrayOffset() + batch.position(), batch.remaining());
+        batch.position(batch.limit());
+        applyDurability();
+    }
+    /**
+     * Forces a written batch to the storage device if the durability policy
+     * is {@link Durability#FSYNC}. {@link FileDescriptor#sync()} is used
+     * since {@code FileChannel.force} would close the channel if the calling
+     * thread has been interrupted.
+     * @throws IOException if forcing the file fails
+     */
+    protected void applyDurability() throws IOException {
+        if (durability == Durability.FSYNC) {
+            out.getFD().sync();
+        }
+    }
+    /**
+     * Waits until every batch passed to {@link #writeBatch(ByteBuffer)} has
+     * reached the file. Called with {@link #lock} held by
+     * {@link #flush()}, when the appender is closed and by the shutdown hook.
+     * Does nothing by default, since batches are written synchronously.
+     * @throws IOException if an earlier write failed
+     */
+    protected void awaitWrites() throws IOException {
+    }
+    private void completeWrites() {
+        try {
+            awaitWrites();
+            if (durability == Durability.FLUSH) {
+                out.getFD().sync();
+            }
+        } catch (IOException ex) {
+            error = ex;
+        }
+    }
+    /**
+     * Returns whether a batch can be written now without waiting. The flush
+     * timer, which is shared by every appender, skips a timed flush when
+     * this returns {@code false} and leaves the text buffered. Called with
+     * {@link #lock} held. Returns {@code true} by default.
+     * @return {@code true} if {@link #writeBatch(ByteBuffer)} will not block
+     */
+    protected boolean canWriteWithoutBlocking() {
+        return(true);
+    }
+    private void flushQuietly() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (canWriteWithoutBlocking()) {
+                commit();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Counts an event about to be appended, or a dropped one if this
+     * appender has been closed. Must be called with {@link #lock} held.
+     * @return {@code true} if the event should be encoded
+     */
+    protected boolean accept() {
+        if (closed) {
+            metrics.recordDrop();
+            return(false);
+        }
+        if (!started) {
+            start();
+        }
+        metrics.recordEvent();
+        return(true);
+    }
+    /**
+     * Starts the flush timer and registers this appender with the shutdown
+     * hook. Done on the first event rather than in the constructor, so that
+     * neither can reach a subclass before its constructor has finished.
+     */
+    private void start() {
+        started = true;
+        OPEN_APPENDERS.add(this);
+        if (flushInterval > 0) {
+            flushTask = getFlushScheduler().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    flushQuietly();
+                }
+            }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+    /**
+     * Commits the buffer early if a message of the given length might not
+     * fit in the remaining space, so that a message that fits in the buffer
+     * is never split across two batches. Must be called with {@link #lock}
+     * held.
+     * @param length the number of characters about to be encoded
+     */
+    protected void reserve(int length) {
+        long maxBytes = (long)length * 3;
+        if (maxBytes > buffer.remaining() && maxBytes <= buffer.capacity()) {
+            commit();
+        }
+    }
+    /**
+     * Copies bytes that are already encoded into the buffer. Must be called
+     * with {@link #lock} held.
+     * @param bytes the bytes to copy
+     */
+    private void put(byte[] bytes) {
+        if (closed) {
+            return;
+        }
+        makeRoom(bytes.length);
+        buffer.put(bytes);
+    }
+    /**
+     * Encodes text into the buffer as UTF-8. Must be called with
+     * {@link #lock} held.
+     * @param text the text to encode
+     */
+    protected void encode(CharSequence text) {
+        encode(text, 0, text.length());
+    }
+    /**
+     * Encodes part of a character sequence into the buffer as UTF-8. Must be
+     * called with {@link #lock} held.
+     * @param text the text to encode
+     * @param start the index of the first character to encode
+     * @param end the index after the last character to encode
+     */
+    protected void encode(CharSequence text, int start, int end) {
+        if (closed) {
+            return;
+        }
+        ByteBuffer buf = buffer;
+        boolean strip = stripANSI;
+        for (int i = start; i < end; i++) {
+            if (buf.remaining() < MAX_BYTES_PER_CHAR) {
+                makeRoom(MAX_BYTES_PER_CHAR);
+            }
+            char c = text.charAt(i);
+            if (strip && !escapeFilter.accept(c)) {
+                continue;
+            }
+            if (c < 0x80) {
+                buf.put((byte)c);
+            } else if (c < 0x800) {
+                buf.put((byte)(0xC0 | (c >> 6)));
+                buf.put((byte)(0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buf.put((byte)(0xF0 | (codePoint >> 18)));
+                buf.put((byte)(0x80 | ((codePoint >> 12) & 0x3F)));
+                buf.put((byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+                buf.put((byte)(0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buf.put((byte)'?');
+            } else {
+                buf.put((byte)(0xE0 | (c >> 12)));
+                buf.put((byte)(0x80 | ((c >> 6) & 0x3F)));
+                buf.put((byte)(0x80 | (c & 0x3F)));
+            }
+        }
+    }
+    /**
+     * Returns the daemon executor shared by every appender's flush timer.
+     */
+    static ScheduledExecutorService getFlushScheduler() {
+        return(FlushSchedulerHolder.FLUSH_SCHEDULER);
+    }
+    /**
+     * Writes the buffered text of every open appender. Called by the logger's
+     * shutdown hook after any asynchronous events have been drained.
+     */
+    static void flushAll() {
+        for (FileAppender fileAppender : OPEN_APPENDERS) {
+            fileAppender.lock.lock();
+            try {
+                fileAppender.commit();
+                fileAppender.completeWrites();
+            } finally {
+                fileAppender.lock.unlock();
+            }
+        }
+    }
+    private static final class FlushSchedulerHolder {
+        private static final ScheduledExecutorService FLUSH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "FileAppender-flush");
+                t.setDaemon(true);
+                return(t);
+            }
+        });
+    }
+    /**
+     * When an appender forces written data to the storage device.
+     */
+    public static enum Durability {
+        /** Leave written data in the operating system's cache. */
+        NONE,
+        /**
+         * Force the file to the storage device on {@link FileAppender#flush()},
+         * on close and at shutdown, but not after timed or full-buffer
+         * batches.
+         */
+        FLUSH,
+        /** Force every batch to the storage device as soon as it is written. */
+        FSYNC
+    }
+}
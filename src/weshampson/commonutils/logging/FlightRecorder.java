@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Remembers the last few events printed by the logger so that they can be
+ * written out after a crash.
+ * <p>
+ * The logger records every event it prints into the installed recorder,
+ * whether or not any file or document output is enabled. Recording only
+ * stores a reference in a fixed-size ring, so the recorder is cheap enough
+ * to leave on. {@link #dump(File, long)} writes the ring to a file on a
+ * separate thread and gives up after a time limit, so a crash handler is
+ * never held up by a slow or wedged disk.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see Logger#setFlightRecorder(FlightRecorder)
+ * @see weshampson.commonutils.exception.UncaughtExceptionHandler
+ */
+public class FlightRecorder {
+    public static final int DEFAULT_CAPACITY = 512;
+    private final AtomicReferenceArray<LogEvent> ring;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final int mask;
+    public FlightRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+    /**
+     * Creates a new recorder.
+     * @param capacity the number of events kept; rounded up to the next power
+     * of two
+     */
+    public FlightRecorder(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive - " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+    public int getCapacity() {
+        return(ring.length());
+    }
+    /**
+     * Returns the number of events recorded since this recorder was created,
+     * including those that have since been overwritten.
+     * @return the number of events recorded
+     */
+    public long getRecordedCount() {
+        return(nextSequence.get());
+    }
+    /**
+     * Stores an event, replacing the oldest one if the ring is full.
+     * @param event the event to record
+     */
+    public void record(LogEvent event) {
+        ring.lazySet((int)nextSequence.getAndIncrement() & mask, event);
+    }
+    /**
+     * Returns the events currently held, oldest first.
+     * @return the events
+     */
+    public List<LogEvent> getEvents() {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - ring.length());
+        List<LogEvent> events = new ArrayList<>((int)(end - start));
+        for (long s = start; s < end; s++) {
+            LogEvent event = ring.get((int)s & mask);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return(events);
+    }
+    /**
+     * Writes the events currently held to a file, oldest first, waiting at
+     * most the given time for the write to finish. If the time runs out the
+     * write is left to finish on a daemon thread and this method returns.
+     * @param file the file to write
+     * @param timeoutMillis the maximum time to wait
+     * @return {@code true} if the file was fully written in time
+     */
+    public boolean dump(final File file, long timeoutMillis) {
+        final List<LogEvent> events = getEvents();
+        final boolean[] written = new boolean[1];
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    writeEvents(file, events);
+                    written[0] = true;
+                } catch (IOException ex) {
+                    Logger.DEFAULT_STDERR.println("Failed to write flight recorder dump to " + file + " - " + ex.toString());
+                    Logger.DEFAULT_STDERR.flush();
+                }
+            }
+        }, "FlightRecorder-dump");
+        writer.setDaemon(true);
+        writer.start();
+        try {
+            writer.join(Math.max(1, timeoutMillis));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return(!writer.isAlive() && written[0]);
+    }
+    private static void writeEvents(File file, List<LogEvent> events) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+            for (LogEvent event : events) {
+                if (event.getPrefix() == null) {
+                    out.write("[" + TimestampFormat.forPattern(Timestamp.TWENTYFOUR_HOUR_FORMAT).format(event.getTimeMillis()) + " " + event.getThreadName() + "] ");
+                }
+                out.write(event.getText());
+                if (!event.isNewLine()) {
+                    out.write(System.lineSeparator());
+                }
+            }
+        }
+    }
+}
@@ -21,85 +21,168 @@ package weshampson.commonutils.logging;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import jline.console.ConsoleReader;
 import weshampson.commonutils.ansi.ANSI;
-import weshampson.commonutils.io.DocumentOutputStream;
 
 /**
- *
+ * A {@link Logger} that prints above a jline prompt, hiding the prompt and
+ * any partly typed input while a message is written and restoring them
+ * afterwards.
+ * <p>
+ * In batching mode (see {@link #setBatchingEnabled(boolean)}) messages are
+ * collected instead of printed one by one, and everything logged within
+ * one {@link #getBatchInterval() batch interval} is written with a single
+ * prompt redraw. This keeps a burst of messages from redrawing the prompt
+ * twice per line. Appenders still receive each message as it is logged.
+ * Batches are written by a daemon thread of their own, so a slow terminal
+ * never delays the file appenders' flush timer.
  * @author  Wes Hampson
- * @version 0.2.0 (Sep 6, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.1.0 (Aug 25, 2014)
  */
 public class JLineLogger extends Logger {
+    public static final long DEFAULT_BATCH_INTERVAL = 16;
+    private static final int MAX_PENDING_CHARS = 64 * 1024;
+    private final ReentrantLock consoleLock = new ReentrantLock();
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushConsole();
+        }
+    };
+    private StringBuilder pendingText = new StringBuilder();
+    private boolean flushScheduled;
+    private volatile boolean batchingEnabled;
+    private volatile long batchInterval = DEFAULT_BATCH_INTERVAL;
     public JLineLogger(ConsoleReader cr, PrintWriter stderr) {
         super(cr, stderr);
     }
+    public boolean isBatchingEnabled() {
+        return(batchingEnabled);
+    }
+    /**
+     * Turns batching mode on or off. Turning it off prints any messages
+     * still waiting.
+     * @param enabled whether messages are batched
+     */
+    public void setBatchingEnabled(boolean enabled) {
+        batchingEnabled = enabled;
+        if (!enabled) {
+            flushConsole();
+        }
+    }
+    public long getBatchInterval() {
+        return(batchInterval);
+    }
+    /**
+     * Sets how long messages are collected before they are printed in
+     * batching mode.
+     * @param intervalMillis the batch interval
+     */
+    public void setBatchInterval(long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("batch interval must be positive - " + intervalMillis);
+        }
+        batchInterval = intervalMillis;
+    }
     @Override
     public void print(Level level, String message, boolean writePrefix, boolean newLine) {
-        try {
-            ConsoleReader cr = getConsoleReader();
-            StringBuilder sb = new StringBuilder();
-            if (isColorEnabled()) {
-                sb.append(level.getConsoleColor().getANSIEscapeSequence());
-            }
-            if (writePrefix) {
-                sb.append(parsePrefix(level, level.getPrefix()));
+        String prefix = writePrefix ? parsePrefix(level, level.getPrefix()) : null;
+        StringBuilder sb = new StringBuilder();
+        if (isColorEnabled()) {
+            sb.append(level.getConsoleEscapeSequence());
+        }
+        if (writePrefix) {
+            sb.append(prefix);
+        }
+        sb.append(message);
+        if (isColorEnabled()) {
+            sb.append(ANSI.ANSI_NORMAL);
+        }
+        if (newLine) {
+            sb.append("\n");
+        }
+        if (batchingEnabled) {
+            boolean full;
+            pendingLock.lock();
+            try {
+                pendingText.append(sb);
+                full = pendingText.length() >= MAX_PENDING_CHARS;
+                if (!full && !flushScheduled) {
+                    flushScheduled = true;
+                    BatchSchedulerHolder.BATCH_SCHEDULER.schedule(flushTask, batchInterval, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                pendingLock.unlock();
             }
-            sb.append(message);
-            if (isColorEnabled()) {
-                sb.append(ANSI.ANSI_NORMAL);
+            if (full) {
+                flushConsole();
             }
-            if (newLine) {
-                sb.append("\n");
+        } else {
+            writeToConsole(sb.toString());
+        }
+        printToAppenders(level, prefix, message, newLine);
+    }
+    /**
+     * Prints any messages waiting in batching mode.
+     */
+    public void flushConsole() {
+        String text;
+        pendingLock.lock();
+        try {
+            flushScheduled = false;
+            if (pendingText.length() == 0) {
+                return;
             }
+            text = pendingText.toString();
+            pendingText = new StringBuilder();
+        } finally {
+            pendingLock.unlock();
+        }
+        writeToConsole(text);
+    }
+    /**
+     * Also prints any messages waiting in batching mode.
+     */
+    @Override
+    public void flushAppenders() {
+        flushConsole();
+        super.flushAppenders();
+    }
+    private void writeToConsole(String text) {
+        consoleLock.lock();
+        try {
+            ConsoleReader cr = getConsoleReader();
             cr.killLine();
             String buf = cr.getCursorBuffer().buffer.toString();
             if (cr.getPrompt() != null) {
                 cr.resetPromptLine("", "", 0);
-                cr.print(sb.toString());
+                cr.print(text);
                 cr.resetPromptLine(getConsoleReaderPrompt(), buf, buf.length());
             } else {
-                cr.print(sb.toString());
-            }
-            if (isLoggingToDocumentEnabled()) {
-                PrintWriter pw;
-                DocumentOutputStream documentOutputStream;
-                if (level.getStream() == STREAM_STDERR) {
-                    documentOutputStream = getDocumentErr();
-                } else {
-                    documentOutputStream = getDocumentOut();
-                }
-                documentOutputStream.setDocumentAttributeSet(level.getDocumentAttributeSet());
-                pw = new PrintWriter(documentOutputStream);
-                if (writePrefix) {
-                    pw.print(parsePrefix(level, level.getPrefix()));
-                }
-                pw.print(message);
-                if (newLine) {
-                    pw.println();
-                }
-                pw.flush();
-                documentOutputStream.getTextComponent().setCaretPosition(documentOutputStream.getDocument().getLength());
-            }
-            if (isLoggingToFileEnabled()) {
-                PrintWriter pw;
-                if (level.getStream() == STREAM_STDERR) {
-                    pw = new PrintWriter(getFileErr());
-                } else {
-                    pw = new PrintWriter(getFileOut());
-                }
-                if (writePrefix) {
-                    pw.print(parsePrefix(level, level.getPrefix()));
-                }
-                pw.print(message);
-                if (newLine) {
-                    pw.println();
-                }
-                pw.flush();
+                cr.print(text);
+                cr.flush();
             }
         } catch (IOException ex) {
             throw new RuntimeException(ex);
+        } finally {
+            consoleLock.unlock();
         }
     }
-}
\ No newline at end of file
+    private static final class BatchSchedulerHolder {
+        private static final ScheduledExecutorService BATCH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "JLineLogger-batch");
+                t.setDaemon(true);
+                return(t);
+            }
+        });
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes log events to a compact binary journal instead of text.
+ * <p>
+ * Each event is stored as a variable-length timestamp delta, a level id, a
+ * thread id, either an interned pattern id followed by the raw pattern
+ * arguments or, for messages logged as plain text, the message itself, and
+ * any structured {@link LogFields}.
+ * Levels, patterns and thread names are written once, the first time they
+ * are seen, and referred to by id afterwards. Prefixes are never rendered
+ * and formatted messages are never encoded, so an event logged with
+ * {@link Logger#log(Level, String, Object)} typically costs a few bytes.
+ * Records are encoded into a reusable buffer that is written to the file in
+ * batches, like {@link FileAppender}. A batch that cannot be written is
+ * kept and retried with the next one.
+ * <p>
+ * Use {@link JournalDecoder} to turn a journal back into text.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class JournalAppender implements Appender {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL = 500;
+    static final byte[] MAGIC = {'C', 'U', 'J', 'L'};
+    static final int VERSION = 1;
+    static final int RECORD_LEVEL = 1;
+    static final int RECORD_PATTERN = 2;
+    static final int RECORD_THREAD = 3;
+    static final int RECORD_EVENT = 4;
+    static final int FLAG_PREFIX = 1;
+    static final int FLAG_NEW_LINE = 2;
+    static final int FLAG_PATTERN = 4;
+    static final int FLAG_FIELDS = 8;
+    static final int ARG_NULL = 0;
+    static final int ARG_STRING = 1;
+    static final int ARG_LONG = 2;
+    static final int ARG_DOUBLE = 3;
+    static final int ARG_FLOAT = 4;
+    static final int ARG_TRUE = 5;
+    static final int ARG_FALSE = 6;
+    /** Id written in place of an interned id once the table is full. */
+    static final int INLINE_ID = 0;
+    private static final int MAX_INTERNED = 65536;
+    private static final int MAX_VARINT_BYTES = 10;
+    /** Record type, timestamp, level, thread, flags and pattern id. */
+    private static final int MAX_EVENT_HEADER_BYTES = MAX_VARINT_BYTES * 4 + 2;
+    static final int MIN_BUFFER_SIZE = MAX_EVENT_HEADER_BYTES;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FileOutputStream out;
+    private final ByteBuffer buffer;
+    private final Map<Level, LevelEntry> levelIds = new IdentityHashMap<>();
+    private final Map<String, Integer> patternIds = new HashMap<>();
+    private final Map<String, Integer> threadIds = new HashMap<>();
+    private final StringBuilder argumentText = new StringBuilder();
+    private final ScheduledFuture<?> flushTask;
+    private final SinkMetrics metrics;
+    private long lastTimeMillis;
+    private IOException error;
+    private boolean dataLost;
+    private boolean closed;
+    /**
+     * Creates a new journal, replacing any existing file.
+     * @param file the journal file
+     * @throws IOException if the file cannot be opened or the header cannot
+     * be written
+     */
+    public JournalAppender(File file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+    /**
+     * Creates a new journal, replacing any existing file.
+     * @param file the journal file
+     * @param bufferSize the number of bytes buffered before a batch is
+     * written
+     * @param flushIntervalMillis the maximum time buffered events may wait
+     * before being written, or {@code 0} to only write when the buffer is
+     * full or {@link #flush()} is called
+     * @throws IOException if the file cannot be opened or the header cannot
+     * be written
+     */
+    public JournalAppender(File file, int bufferSize, long flushIntervalMillis) throws IOException {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("buffer size too small - " + bufferSize);
+        }
+        this.out = openStream(file);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.metrics = LogMetrics.createSinkMetrics(getClass().getSimpleName());
+        buffer.put(MAGIC);
+        buffer.put((byte)VERSION);
+        commit();
+        if (error != null) {
+            metrics.close();
+            out.close();
+            throw error;
+        }
+        if (flushIntervalMillis > 0) {
+            flushTask = FileAppender.getFlushScheduler().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    flushQuietly();
+                }
+            }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flushTask = null;
+        }
+        Logger.installShutdownHook();
+        Logger.addArgumentConsumer();
+    }
+    @Override
+    public void append(LogEvent event) {
+        lock.lock();
+        try {
+            if (closed) {
+                metrics.recordDrop();
+                return;
+            }
+            metrics.recordEvent();
+            int levelId = defineLevel(event.getLevel());
+            int threadId = intern(threadIds, RECORD_THREAD, event.getThreadName());
+            String pattern = event.getPattern();
+            Object[] args = event.getArguments();
+            boolean hasPattern = pattern != null && args != null;
+            int patternId = hasPattern ? intern(patternIds, RECORD_PATTERN, pattern) : INLINE_ID;
+            LogFields fields = event.getFields();
+            int flags = (event.getPrefix() != null ? FLAG_PREFIX : 0) | (event.isNewLine() ? FLAG_NEW_LINE : 0) | (hasPattern ? FLAG_PATTERN : 0) | (fields != null ? FLAG_FIELDS : 0);
+            long timeMillis = event.getTimeMillis();
+            ensure(MAX_EVENT_HEADER_BYTES);
+            buffer.put((byte)RECORD_EVENT);
+            putVarLong(zigZag(timeMillis - lastTimeMillis));
+            lastTimeMillis = timeMillis;
+            putVarInt(levelId);
+            putVarInt(threadId);
+            if (threadId == INLINE_ID) {
+                putString(event.getThreadName());
+                ensure(1 + MAX_VARINT_BYTES);
+            }
+            buffer.put((byte)flags);
+            if (hasPattern) {
+                putVarInt(patternId);
+                if (patternId == INLINE_ID) {
+                    putString(pattern);
+                }
+                ensure(MAX_VARINT_BYTES);
+                putVarInt(args.length);
+                for (Object arg : args) {
+                    putArgument(arg);
+                }
+            } else {
+                putString(String.valueOf(event.getMessage()));
+            }
+            if (fields != null) {
+                ensure(MAX_VARINT_BYTES);
+                putVarInt(fields.size());
+                for (int i = 0; i < fields.size(); i++) {
+                    putString(fields.getKey(i));
+                    putArgument(fields.getValue(i));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    public SinkMetrics getMetrics() {
+        return(metrics);
+    }
+    /**
+     * Returns whether the last write failed, or whether bytes were lost
+     * after an earlier failure and the journal is incomplete.
+     * @return {@code true} if an {@link IOException} is outstanding
+     */
+    public boolean checkError() {
+        lock.lock();
+        try {
+            return(error != null);
+        } finally {
+            lock.unlock();
+        }
+    }
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            commit();
+            if (error != null) {
+                throw error;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            commit();
+            closed = true;
+            Logger.removeArgumentConsumer();
+            if (flushTask != null) {
+                flushTask.cancel(false);
+            }
+            metrics.close();
+            out.close();
+            if (error != null) {
+                throw error;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    private int defineLevel(Level level) {
+        String prefix = level.getPrefix();
+        LevelEntry entry = levelIds.get(level);
+        if (entry != null && entry.prefix.equals(prefix) && entry.severity == level.getSeverity()) {
+            return(entry.id);
+        }
+        // New level, or one whose prefix or severity has changed since it
+        // was last written; the decoder replaces its definition.
+        int id = entry != null ? entry.id : levelIds.size() + 1;
+        levelIds.put(level, new LevelEntry(id, prefix, level.getSeverity()));
+        ensure(MAX_VARINT_BYTES * 3 + 2);
+        buffer.put((byte)RECORD_LEVEL);
+        putVarInt(id);
+        putVarLong(zigZag(level.getSeverity()));
+        buffer.put((byte)level.getStream());
+        putString(prefix);
+        putString(level.getName() == null ? "" : level.getName());
+        return(id);
+    }
+    private int intern(Map<String, Integer> ids, int recordType, String s) {
+        Integer id = ids.get(s);
+        if (id != null) {
+            return(id);
+        }
+        if (ids.size() >= MAX_INTERNED) {
+            return(INLINE_ID);
+        }
+        id = ids.size() + 1;
+        ids.put(s, id);
+        ensure(MAX_VARINT_BYTES + 1);
+        buffer.put((byte)recordType);
+        putVarInt(id);
+        putString(s);
+        return(id);
+    }
+    private void putArgument(Object arg) {
+        ensure(1 + MAX_VARINT_BYTES);
+        if (arg == null) {
+            buffer.put((byte)ARG_NULL);
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            buffer.put((byte)ARG_LONG);
+            putVarLong(zigZag(((Number)arg).longValue()));
+        } else if (arg instanceof Double) {
+            buffer.put((byte)ARG_DOUBLE);
+            buffer.putDouble((Double)arg);
+        } else if (arg instanceof Float) {
+            buffer.put((byte)ARG_FLOAT);
+            buffer.putFloat((Float)arg);
+        } else if (arg instanceof Boolean) {
+            buffer.put((byte)((Boolean)arg ? ARG_TRUE : ARG_FALSE));
+        } else if (arg instanceof String) {
+            buffer.put((byte)ARG_STRING);
+            putString((String)arg);
+        } else {
+            // Anything else is stored as the text MessageFormatter would
+            // have substituted for it.
+            buffer.put((byte)ARG_STRING);
+            argumentText.setLength(0);
+            MessageFormatter.appendArgument(argumentText, arg);
+            putString(argumentText);
+            if (argumentText.capacity() > DEFAULT_BUFFER_SIZE) {
+                argumentText.setLength(0);
+                argumentText.trimToSize();
+            }
+        }
+    }
+    private void putString(CharSequence s) {
+        int length = s.length();
+        int byteCount = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                byteCount++;
+            } else if (c < 0x800) {
+                byteCount += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                byteCount += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                byteCount++;
+            } else {
+                byteCount += 3;
+            }
+        }
+        ensure(MAX_VARINT_BYTES);
+        putVarInt(byteCount);
+        for (int i = 0; i < length; i++) {
+            ensure(4);
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte)c);
+            } else if (c < 0x800) {
+                buffer.put((byte)(0xC0 | (c >> 6)));
+                buffer.put((byte)(0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte)(0xF0 | (codePoint >> 18)));
+                buffer.put((byte)(0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte)(0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte)'?');
+            } else {
+                buffer.put((byte)(0xE0 | (c >> 12)));
+                buffer.put((byte)(0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte)(0x80 | (c & 0x3F)));
+            }
+        }
+    }
+    private void putVarInt(int value) {
+        putVarLong(value & 0xFFFFFFFFL);
+    }
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte)value);
+    }
+    private static long zigZag(long value) {
+        return((value << 1) ^ (value >> 63));
+    }
+    /**
+     * Writes the buffer out if fewer than {@code length} bytes are free.
+     * Records may span batches; only the order of the bytes matters. If the
+     * write fails and there is still not enough room, the buffered bytes are
+     * dropped so that logging can go on, and the journal is reported as
+     * failed from then on.
+     */
+    private void ensure(int length) {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+        commit();
+        if (buffer.remaining() < length) {
+            buffer.clear();
+            dataLost = true;
+            metrics.recordDrop();
+        }
+    }
+    /**
+     * Writes the buffered bytes to the file. Bytes that cannot be written
+     * are kept for the next batch. The stream is written directly rather
+     * than through its {@code FileChannel}, which would be closed for good
+     * by a write from an interrupted thread.
+     */
+    private void commit() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        int batchSize = buffer.remaining();
+        try {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), batchSize);
+            buffer.clear();
+            metrics.recordBytes(batchSize);
+            metrics.recordFlush();
+            if (!dataLost) {
+                error = null;
+            }
+        } catch (IOException ex) {
+            error = ex;
+            buffer.compact();
+        }
+    }
+    private void flushQuietly() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (!closed) {
+                commit();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    private static FileOutputStream openStream(File file) throws FileNotFoundException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return(new FileOutputStream(file));
+    }
+    private static final class LevelEntry {
+        private final int id;
+        private final String prefix;
+        private final int severity;
+        private LevelEntry(int id, String prefix, int severity) {
+            this.id = id;
+            this.prefix = prefix;
+            this.severity = severity;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import weshampson.commonutils.ansi.ANSI;
+
+/**
+ * Reads a journal written by {@link JournalAppender} and renders its events
+ * as the text the logger would have printed, with each prefix rendered at
+ * the time its event was logged.
+ * <p>
+ * Can be run from the command line:
+ * <pre>
+ * java weshampson.commonutils.logging.JournalDecoder &lt;journal&gt; [output]
+ * </pre>
+ * If no output file is given the text is written to standard output.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class JournalDecoder implements Closeable {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private final DataInputStream in;
+    private final Map<Integer, Level> levels = new HashMap<>();
+    private final List<String> patterns = new ArrayList<>();
+    private final List<String> threads = new ArrayList<>();
+    private final StringBuilder prefixBuffer = new StringBuilder(64);
+    private byte[] stringBuffer = new byte[256];
+    private long lastTimeMillis;
+    /**
+     * Opens a journal and checks its header.
+     * @param in the journal's contents
+     * @throws IOException if the stream is not a journal or was written by an
+     * unsupported version
+     */
+    public JournalDecoder(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[JournalAppender.MAGIC.length];
+        try {
+            this.in.readFully(magic);
+        } catch (EOFException ex) {
+            throw new IOException("not a log journal");
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != JournalAppender.MAGIC[i]) {
+                throw new IOException("not a log journal");
+            }
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != JournalAppender.VERSION) {
+            throw new IOException("unsupported journal version - " + version);
+        }
+        patterns.add(null);
+        threads.add(null);
+    }
+    /**
+     * Reads the next event.
+     * @return the event, or {@code null} at the end of the journal
+     * @throws IOException if the journal cannot be read or is corrupt
+     */
+    public LogEvent readEvent() throws IOException {
+        while (true) {
+            int recordType = in.read();
+            switch (recordType) {
+                case -1:
+                    return(null);
+                case JournalAppender.RECORD_LEVEL:
+                    readLevel();
+                    break;
+                case JournalAppender.RECORD_PATTERN:
+                    define(patterns, readVarInt(), readString());
+                    break;
+                case JournalAppender.RECORD_THREAD:
+                    define(threads, readVarInt(), readString());
+                    break;
+                case JournalAppender.RECORD_EVENT:
+                    return(readEventRecord());
+                default:
+                    throw new IOException("corrupt journal - unknown record type " + recordType);
+            }
+        }
+    }
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    private void readLevel() throws IOException {
+        int id = readVarInt();
+        int severity = (int)unZigZag(readVarLong());
+        int stream = in.readUnsignedByte();
+        String prefix = readString();
+        String name = readString();
+        levels.put(id, new Level(name.isEmpty() ? null : name, severity, stream, prefix, ANSI.Color.DEFAULT, null));
+    }
+    private LogEvent readEventRecord() throws IOException {
+        long timeMillis = lastTimeMillis + unZigZag(readVarLong());
+        lastTimeMillis = timeMillis;
+        Level level = levels.get(readVarInt());
+        if (level == null) {
+            throw new IOException("corrupt journal - undefined level");
+        }
+        String threadName = lookup(threads, readVarInt());
+        int flags = in.readUnsignedByte();
+        String prefix = null;
+        if ((flags & JournalAppender.FLAG_PREFIX) != 0) {
+            prefixBuffer.setLength(0);
+            prefix = level.getPrefixTemplate().render(level.getPrefix(), timeMillis, prefixBuffer).toString();
+        }
+        boolean newLine = (flags & JournalAppender.FLAG_NEW_LINE) != 0;
+        String message;
+        String pattern = null;
+        Object[] args = null;
+        if ((flags & JournalAppender.FLAG_PATTERN) != 0) {
+            pattern = lookup(patterns, readVarInt());
+            args = new Object[readVarInt()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = readArgument();
+            }
+            message = MessageFormatter.format(pattern, args);
+        } else {
+            message = readString();
+        }
+        LogFields fields = null;
+        if ((flags & JournalAppender.FLAG_FIELDS) != 0) {
+            int fieldCount = readVarInt();
+            for (int i = 0; i < fieldCount; i++) {
+                String key = readString();
+                Object value = readArgument();
+                fields = fields == null ? LogFields.of(key, value) : fields.and(key, value);
+            }
+        }
+        return(new LogEvent(level, prefix, message, newLine, timeMillis, threadName, pattern, args, fields));
+    }
+    private Object readArgument() throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case JournalAppender.ARG_NULL:
+                return(null);
+            case JournalAppender.ARG_STRING:
+                return(readString());
+            case JournalAppender.ARG_LONG:
+                return(unZigZag(readVarLong()));
+            case JournalAppender.ARG_DOUBLE:
+                return(in.readDouble());
+            case JournalAppender.ARG_FLOAT:
+                return(in.readFloat());
+            case JournalAppender.ARG_TRUE:
+                return(Boolean.TRUE);
+            case JournalAppender.ARG_FALSE:
+                return(Boolean.FALSE);
+            default:
+                throw new IOException("corrupt journal - unknown argument type " + type);
+        }
+    }
+    /**
+     * Reads the string that follows an id of {@link JournalAppender#INLINE_ID},
+     * or looks up an interned one.
+     */
+    private String lookup(List<String> table, int id) throws IOException {
+        if (id == JournalAppender.INLINE_ID) {
+            return(readString());
+        }
+        if (id >= table.size() || table.get(id) == null) {
+            throw new IOException("corrupt journal - undefined id " + id);
+        }
+        return(table.get(id));
+    }
+    private static void define(List<String> table, int id, String s) {
+        while (table.size() <= id) {
+            table.add(null);
+        }
+        table.set(id, s);
+    }
+    private String readString() throws IOException {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new IOException("corrupt journal - bad string length");
+        }
+        if (length > stringBuffer.length) {
+            stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+        }
+        in.readFully(stringBuffer, 0, length);
+        return(new String(stringBuffer, 0, length, UTF_8));
+    }
+    private int readVarInt() throws IOException {
+        return((int)readVarLong());
+    }
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return(value);
+            }
+        }
+        throw new IOException("corrupt journal - varint too long");
+    }
+    private static long unZigZag(long value) {
+        return((value >>> 1) ^ -(value & 1));
+    }
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: JournalDecoder <journal> [output]");
+            System.exit(1);
+        }
+        OutputStream out = args.length == 2 ? new FileOutputStream(args[1]) : System.out;
+        try (JournalDecoder decoder = new JournalDecoder(new FileInputStream(args[0]))) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+            LogEvent event;
+            while ((event = decoder.readEvent()) != null) {
+                writer.write(event.getText());
+            }
+            writer.flush();
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+}
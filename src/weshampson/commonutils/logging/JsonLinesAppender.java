@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.FileOutputStream;
+
+/**
+ * Writes each log event to a file as one line of JSON.
+ * <p>
+ * Every line is an object with the members {@code time} (milliseconds since
+ * the epoch), {@code level} (the level's name, or {@code null}),
+ * {@code severity}, {@code thread} and {@code message}, followed by a
+ * {@code fields} object if the message carries {@link LogFields}:
+ * <pre>
+ * {"time":1792321200000,"level":"INFO","severity":800,"thread":"main","message":"Request served","fields":{"user":"alice","ms":12}}
+ * </pre>
+ * Strings are escaped and encoded as UTF-8 straight into the reusable buffer
+ * inherited from {@link FileAppender}; no JSON objects or intermediate
+ * strings are built. Register it with {@link Logger#addAppender(Appender)}
+ * to write JSON alongside the logger's text output.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class JsonLinesAppender extends FileAppender {
+    private static final String[] CONTROL_ESCAPES = new String[0x20];
+    static {
+        for (int c = 0; c < CONTROL_ESCAPES.length; c++) {
+            CONTROL_ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        CONTROL_ESCAPES['\b'] = "\\b";
+        CONTROL_ESCAPES['\t'] = "\\t";
+        CONTROL_ESCAPES['\n'] = "\\n";
+        CONTROL_ESCAPES['\f'] = "\\f";
+        CONTROL_ESCAPES['\r'] = "\\r";
+    }
+    private final StringBuilder scratch = new StringBuilder(64);
+    public JsonLinesAppender(FileOutputStream out) {
+        super(out);
+    }
+    /**
+     * Creates a new appender.
+     * @param out the stream to write to
+     * @param bufferSize the number of bytes buffered before a batch is
+     * written
+     * @param flushIntervalMillis the maximum time buffered text may wait
+     * before being written, or {@code 0} to only write when the buffer is
+     * full or {@link #flush()} is called
+     * @param durability when written data is forced to the storage device
+     */
+    public JsonLinesAppender(FileOutputStream out, int bufferSize, long flushIntervalMillis, Durability durability) {
+        super(out, bufferSize, flushIntervalMillis, durability);
+    }
+    @Override
+    public void append(LogEvent event) {
+        Level level = event.getLevel();
+        String message = event.getMessage();
+        LogFields fields = event.getFields();
+        lock.lock();
+        try {
+            if (!accept()) {
+                return;
+            }
+            reserve(96 + (message == null ? 0 : message.length()) + (fields == null ? 0 : fields.size() * 32));
+            encode("{\"time\":");
+            encodeLong(event.getTimeMillis());
+            encode(",\"level\":");
+            encodeString(level.getName());
+            encode(",\"severity\":");
+            encodeLong(level.getSeverity());
+            encode(",\"thread\":");
+            encodeString(event.getThreadName());
+            encode(",\"message\":");
+            encodeString(message);
+            if (fields != null) {
+                encode(",\"fields\":{");
+                for (int i = 0; i < fields.size(); i++) {
+                    if (i > 0) {
+                        encode(",");
+                    }
+                    encodeString(fields.getKey(i));
+                    encode(":");
+                    encodeValue(fields.getValue(i));
+                }
+                encode("}");
+            }
+            encode("}\n");
+        } finally {
+            lock.unlock();
+        }
+    }
+    private void encodeValue(Object value) {
+        if (value == null) {
+            encode("null");
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            encodeLong(((Number)value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number)value).doubleValue();
+            scratch.setLength(0);
+            if (value instanceof Float) {
+                scratch.append(((Float)value).floatValue());
+            } else {
+                scratch.append(d);
+            }
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                // JSON has no literals for these.
+                encodeString(scratch);
+            } else {
+                encode(scratch);
+            }
+        } else if (value instanceof Boolean) {
+            encode((Boolean)value ? "true" : "false");
+        } else if (value instanceof CharSequence) {
+            encodeString((CharSequence)value);
+        } else {
+            scratch.setLength(0);
+            MessageFormatter.appendArgument(scratch, value);
+            encodeString(scratch);
+        }
+    }
+    private void encodeLong(long value) {
+        scratch.setLength(0);
+        scratch.append(value);
+        encode(scratch);
+    }
+    /**
+     * Encodes a quoted, escaped JSON string. Runs of characters that need no
+     * escaping are encoded directly from {@code s}.
+     */
+    private void encodeString(CharSequence s) {
+        if (s == null) {
+            encode("null");
+            return;
+        }
+        encode("\"");
+        int length = s.length();
+        int runStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            String escape;
+            if (c < 0x20) {
+                escape = CONTROL_ESCAPES[c];
+            } else if (c == '"') {
+                escape = "\\\"";
+            } else if (c == '\\') {
+                escape = "\\\\";
+            } else if (c == '\u2028') {
+                escape = "\\u2028";
+            } else if (c == '\u2029') {
+                escape = "\\u2029";
+            } else {
+                continue;
+            }
+            encode(s, runStart, i);
+            encode(escape);
+            runStart = i + 1;
+        }
+        encode(s, runStart, length);
+        encode("\"");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations in nanoseconds with power-of-two buckets.
+ * <p>
+ * Bucket counts are striped in the same way as the logging counters, so
+ * recording a value costs one uncontended atomic add in the common case.
+ * Percentiles are reported as the upper bound of the bucket they fall in,
+ * which is within a factor of two of the true value.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+    private final AtomicLongArray buckets = new AtomicLongArray(StripedCounter.STRIPES * BUCKETS);
+    private final StripedCounter total = new StripedCounter();
+    private final AtomicLong max = new AtomicLong();
+    LatencyHistogram() {
+    }
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.getAndIncrement(StripedCounter.stripe() * BUCKETS + BUCKETS - Long.numberOfLeadingZeros(nanos));
+        total.add(nanos);
+        long currentMax = max.get();
+        while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+            currentMax = max.get();
+        }
+    }
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return(count);
+    }
+    public long getMax() {
+        return(max.get());
+    }
+    public double getMean() {
+        long count = getCount();
+        return(count == 0 ? 0 : (double)total.sum() / count);
+    }
+    /**
+     * Returns an upper bound for a percentile of the recorded values.
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the upper bound of the bucket holding the percentile, in
+     * nanoseconds, or {@code 0} if nothing has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long c = buckets.get(i);
+            counts[i % BUCKETS] += c;
+            count += c;
+        }
+        if (count == 0) {
+            return(0);
+        }
+        long rank = (long)Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && counts[bucket] > 0) {
+                return(Math.min(bucket == 0 ? 0 : (1L << bucket) - 1, max.get()));
+            }
+        }
+        return(max.get());
+    }
+}
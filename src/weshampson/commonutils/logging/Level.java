@@ -20,6 +20,10 @@
 package weshampson.commonutils.logging;
 
 import java.awt.Color;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import weshampson.commonutils.ansi.ANSI;
@@ -28,12 +32,21 @@ import static weshampson.commonutils.logging.Logger.STREAM_STDERR;
 import static weshampson.commonutils.logging.Logger.STREAM_STDOUT;
 
 /**
- *
+ * A logging level. Levels are ordered by severity so that a
+ * {@link Logger} can discard messages below a minimum level.
+ * <p>
+ * A level's severity, stream, prefix and colors are held together in one
+ * immutable snapshot that is replaced as a whole, so reading them never
+ * takes a lock and the prefix can never disagree with its compiled
+ * template. Use {@link #configure} to change several of them in one step.
  * @author  Wes Hampson
- * @version 0.3.0 (Sep 20, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.3.0 (Sep 20, 2014)
  */
-public class Level {
+public class Level implements Comparable<Level> {
+    public static final int SEVERITY_INFO = 800;
+    public static final int SEVERITY_WARNING = 900;
+    public static final int SEVERITY_ERROR = 1000;
     public static final SimpleAttributeSet DOCATTRS_INFO = new SimpleAttributeSet();
     public static final SimpleAttributeSet DOCATTRS_ERROR = new SimpleAttributeSet();
     public static final SimpleAttributeSet DOCATTRS_WARNING = new SimpleAttributeSet();
@@ -42,36 +55,192 @@ public class Level {
         StyleConstants.setForeground(DOCATTRS_ERROR, Color.RED);
         StyleConstants.setForeground(DOCATTRS_WARNING, Color.ORANGE);
     }
-    public static final Level INFO = new Level(STREAM_STDOUT, "[%T INFO]: ", ANSI.Color.DEFAULT, DOCATTRS_INFO);
-    public static final Level ERROR = new Level(STREAM_STDERR, "[%T ERROR]: ", ANSI.Color.RED, DOCATTRS_ERROR);
-    public static final Level WARNING = new Level(STREAM_STDOUT, "[%T WARNING]: ", ANSI.Color.YELLOW, DOCATTRS_WARNING);
-    private int streamDescriptor;
-    private String prefix;
-    private ANSI.Color consoleColor;
-    private SimpleAttributeSet documentAttributeSet;
+    private static final ConcurrentMap<String, Level> NAMED_LEVELS = new ConcurrentHashMap<>();
+    public static final Level INFO = new Level("INFO", SEVERITY_INFO, STREAM_STDOUT, "[%T INFO]: ", ANSI.Color.DEFAULT, DOCATTRS_INFO);
+    public static final Level ERROR = new Level("ERROR", SEVERITY_ERROR, STREAM_STDERR, "[%T ERROR]: ", ANSI.Color.RED, DOCATTRS_ERROR);
+    public static final Level WARNING = new Level("WARNING", SEVERITY_WARNING, STREAM_STDOUT, "[%T WARNING]: ", ANSI.Color.YELLOW, DOCATTRS_WARNING);
+    private final String name;
+    private volatile Settings settings;
+    /** Serializes the read-copy-write of {@link #settings} by the setters. */
+    private final ReentrantLock settingsLock = new ReentrantLock();
+    private final ReentrantLock metricsLock = new ReentrantLock();
+    private volatile LevelMetrics metrics;
+    /**
+     * Creates a level with {@link #SEVERITY_INFO} severity.
+     * @param streamDescriptor the stream to log to
+     * @param prefix the text printed before each message
+     * @param consoleColor the console color
+     * @param documentAttributeSet the document text attributes
+     */
     public Level(int streamDescriptor, String prefix, ANSI.Color consoleColor, SimpleAttributeSet documentAttributeSet) {
-        this.streamDescriptor = streamDescriptor;
-        this.prefix = prefix;
-        this.consoleColor = consoleColor;
-        this.documentAttributeSet = documentAttributeSet;
+        this(SEVERITY_INFO, streamDescriptor, prefix, consoleColor, documentAttributeSet);
+    }
+    public Level(int severity, int streamDescriptor, String prefix, ANSI.Color consoleColor, SimpleAttributeSet documentAttributeSet) {
+        this(null, severity, streamDescriptor, prefix, consoleColor, documentAttributeSet);
+    }
+    /**
+     * Creates a named level.
+     * @param name the name written by structured appenders such as
+     * {@link JsonLinesAppender}, or {@code null}
+     * @param severity the severity
+     * @param streamDescriptor the stream to log to
+     * @param prefix the text printed before each message
+     * @param consoleColor the console color; {@code null} means
+     * {@link ANSI.Color#DEFAULT}
+     * @param documentAttributeSet the document text attributes
+     */
+    public Level(String name, int severity, int streamDescriptor, String prefix, ANSI.Color consoleColor, SimpleAttributeSet documentAttributeSet) {
+        this.name = name;
+        ANSI.Color color = consoleColor == null ? ANSI.Color.DEFAULT : consoleColor;
+        this.settings = new Settings(severity, streamDescriptor, prefix, PrefixTemplate.compile(prefix), color, color.getANSIEscapeSequence(), documentAttributeSet);
+        if (name != null) {
+            NAMED_LEVELS.putIfAbsent(name, this);
+        }
+    }
+    /**
+     * Returns the first level created with a given name.
+     * @param name the level's name
+     * @return the level, or {@code null} if no level has that name
+     */
+    public static Level forName(String name) {
+        return(NAMED_LEVELS.get(name));
     }
     public ANSI.Color getConsoleColor() {
-        return(consoleColor);
+        return(settings.consoleColor);
+    }
+    /**
+     * Returns the escape sequence written before each message when console
+     * colors are on. This is the console color's own sequence unless the
+     * color was set with {@link #setConsoleColor(Color, ANSI.ColorMode)}.
+     * @return the escape sequence
+     */
+    public String getConsoleEscapeSequence() {
+        return(settings.consoleEscapeSequence);
+    }
+    /**
+     * Returns {@link #getConsoleEscapeSequence()} encoded as UTF-8. The
+     * bytes are encoded once, when the color is set, and the array must not
+     * be modified.
+     * @return the encoded escape sequence
+     */
+    byte[] getConsoleEscapeBytes() {
+        return(settings.consoleEscapeBytes);
     }
     public SimpleAttributeSet getDocumentAttributeSet() {
-        return(documentAttributeSet);
+        return(settings.documentAttributeSet);
+    }
+    /**
+     * Returns the level's name.
+     * @return the name, or {@code null} if the level was created without
+     * one
+     */
+    public String getName() {
+        return(name);
+    }
+    /**
+     * Returns the level's metrics, creating and publishing them the first
+     * time.
+     */
+    LevelMetrics getMetrics() {
+        LevelMetrics levelMetrics = metrics;
+        if (levelMetrics == null) {
+            metricsLock.lock();
+            try {
+                levelMetrics = metrics;
+                if (levelMetrics == null) {
+                    levelMetrics = LogMetrics.createLevelMetrics(this);
+                    metrics = levelMetrics;
+                }
+            } finally {
+                metricsLock.unlock();
+            }
+        }
+        return(levelMetrics);
     }
     public String getPrefix() {
-        return(prefix);
+        return(settings.prefix);
+    }
+    public PrefixTemplate getPrefixTemplate() {
+        return(settings.prefixTemplate);
+    }
+    public int getSeverity() {
+        return(settings.severity);
     }
     public int getStream() {
-        return(streamDescriptor);
+        return(settings.streamDescriptor);
+    }
+    @Override
+    public int compareTo(Level level) {
+        int s1 = getSeverity();
+        int s2 = level.getSeverity();
+        return(s1 < s2 ? -1 : (s1 == s2 ? 0 : 1));
+    }
+    /**
+     * Replaces the level's severity, stream, prefix and colors in a single
+     * step. If the console color is unchanged, an escape sequence set with
+     * {@link #setConsoleColor(Color, ANSI.ColorMode)} is kept.
+     * @param severity the severity
+     * @param streamDescriptor the stream to log to
+     * @param prefix the text printed before each message; see
+     * {@link #setPrefix(String)}
+     * @param consoleColor the console color; {@code null} means
+     * {@link ANSI.Color#DEFAULT}
+     * @param documentAttributeSet the document text attributes
+     */
+    public void configure(int severity, int streamDescriptor, String prefix, ANSI.Color consoleColor, SimpleAttributeSet documentAttributeSet) {
+        ANSI.Color color = consoleColor == null ? ANSI.Color.DEFAULT : consoleColor;
+        PrefixTemplate prefixTemplate = PrefixTemplate.compile(prefix);
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            String consoleEscapeSequence = color == s.consoleColor ? s.consoleEscapeSequence : color.getANSIEscapeSequence();
+            settings = new Settings(severity, streamDescriptor, prefix, prefixTemplate, color, consoleEscapeSequence, documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
     }
+    /**
+     * Sets the console color.
+     * @param color the color; {@code null} means {@link ANSI.Color#DEFAULT}
+     * @throws ANSIException never; declared for compatibility
+     */
     public void setConsoleColor(ANSI.Color color) throws ANSIException {
-        this.consoleColor = color;
+        ANSI.Color c = color == null ? ANSI.Color.DEFAULT : color;
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            settings = new Settings(s.severity, s.streamDescriptor, s.prefix, s.prefixTemplate, c, c.getANSIEscapeSequence(), s.documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
+    }
+    /**
+     * Sets the console color from any RGB color. The escape sequence is
+     * chosen once, here, for the given color mode; {@link #getConsoleColor()}
+     * returns the nearest basic color.
+     * @param color the color
+     * @param mode the colors the console supports
+     */
+    public void setConsoleColor(Color color, ANSI.ColorMode mode) {
+        int rGBValue = color.getRGB() & 0xFFFFFF;
+        ANSI.Color nearestColor = ANSI.nearestColor(rGBValue);
+        String escapeSequence = ANSI.getEscapeSequence(rGBValue, mode);
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            settings = new Settings(s.severity, s.streamDescriptor, s.prefix, s.prefixTemplate, nearestColor, escapeSequence, s.documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
     }
     public void setDocumentAttributeSet(SimpleAttributeSet documentAttributeSet) {
-        this.documentAttributeSet = documentAttributeSet;
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            settings = new Settings(s.severity, s.streamDescriptor, s.prefix, s.prefixTemplate, s.consoleColor, s.consoleEscapeSequence, documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
     }
     /**
      * Sets the text that will be printed before each logged item.
@@ -92,13 +261,58 @@ public class Level {
      * <p>
      * Example: the prefix {@code [%T INFO]:} may result in the string
      * {@code [14:42:22 INFO]:}
+     * <p>
+     * The prefix is compiled into a {@link PrefixTemplate} when it is set, so
+     * it is not re-parsed for each logged message.
      * @param prefix The text to be used as a prefix
      * @see java.text.SimpleDateFormat
      */
     public void setPrefix(String prefix) {
-        this.prefix = prefix;
+        PrefixTemplate prefixTemplate = PrefixTemplate.compile(prefix);
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            settings = new Settings(s.severity, s.streamDescriptor, prefix, prefixTemplate, s.consoleColor, s.consoleEscapeSequence, s.documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
+    }
+    public void setSeverity(int severity) {
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            settings = new Settings(severity, s.streamDescriptor, s.prefix, s.prefixTemplate, s.consoleColor, s.consoleEscapeSequence, s.documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
     }
     public void setStream(int stream) {
-        this.streamDescriptor = stream;
+        settingsLock.lock();
+        try {
+            Settings s = settings;
+            settings = new Settings(s.severity, stream, s.prefix, s.prefixTemplate, s.consoleColor, s.consoleEscapeSequence, s.documentAttributeSet);
+        } finally {
+            settingsLock.unlock();
+        }
+    }
+    private static final class Settings {
+        private final int severity;
+        private final int streamDescriptor;
+        private final String prefix;
+        private final PrefixTemplate prefixTemplate;
+        private final ANSI.Color consoleColor;
+        private final String consoleEscapeSequence;
+        private final byte[] consoleEscapeBytes;
+        private final SimpleAttributeSet documentAttributeSet;
+        private Settings(int severity, int streamDescriptor, String prefix, PrefixTemplate prefixTemplate, ANSI.Color consoleColor, String consoleEscapeSequence, SimpleAttributeSet documentAttributeSet) {
+            this.severity = severity;
+            this.streamDescriptor = streamDescriptor;
+            this.prefix = prefix;
+            this.prefixTemplate = prefixTemplate;
+            this.consoleColor = consoleColor;
+            this.consoleEscapeSequence = consoleEscapeSequence;
+            this.consoleEscapeBytes = consoleEscapeSequence.getBytes(StandardCharsets.UTF_8);
+            this.documentAttributeSet = documentAttributeSet;
+        }
     }
 }
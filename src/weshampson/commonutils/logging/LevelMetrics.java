@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+/**
+ * Counts the messages logged at one {@link Level}: the messages that were
+ * passed on to be printed, their total length and the messages discarded by
+ * the logger's {@link LogFilter}. Messages below the minimum level are not
+ * counted.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see LogMetrics#getLevelMetrics(Level)
+ */
+public final class LevelMetrics implements LevelMetricsMBean {
+    private final Level level;
+    private final StripedCounter events = new StripedCounter();
+    private final StripedCounter characters = new StripedCounter();
+    private final StripedCounter drops = new StripedCounter();
+    LevelMetrics(Level level) {
+        this.level = level;
+    }
+    @Override
+    public String getLevelName() {
+        return(level.getName() != null ? level.getName() : "severity-" + level.getSeverity());
+    }
+    @Override
+    public int getSeverity() {
+        return(level.getSeverity());
+    }
+    @Override
+    public long getEventCount() {
+        return(events.sum());
+    }
+    @Override
+    public long getCharacterCount() {
+        return(characters.sum());
+    }
+    @Override
+    public long getDropCount() {
+        return(drops.sum());
+    }
+    void recordEvent(String message) {
+        events.increment();
+        if (message != null) {
+            characters.add(message.length());
+        }
+    }
+    void recordDrop() {
+        drops.increment();
+    }
+}
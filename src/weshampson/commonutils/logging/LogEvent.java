@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+/**
+ * A single message printed by a {@link Logger}, as passed to each
+ * {@link Appender}.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public final class LogEvent {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private final Level level;
+    private final String prefix;
+    private final String message;
+    private final boolean newLine;
+    private final long timeMillis;
+    private final String threadName;
+    private final String pattern;
+    private final Object[] arguments;
+    private final LogFields fields;
+    private String text;
+    /**
+     * Creates a new event.
+     * @param level the level the message was logged at
+     * @param prefix the rendered prefix, or {@code null} if no prefix is
+     * written
+     * @param message the message text
+     * @param newLine whether the message ends with a line separator
+     * @param timeMillis the time the message was logged
+     * @param threadName the name of the thread that logged the message
+     */
+    public LogEvent(Level level, String prefix, String message, boolean newLine, long timeMillis, String threadName) {
+        this(level, prefix, message, newLine, timeMillis, threadName, null, null, null);
+    }
+    /**
+     * Creates a new event for a message that was formatted from a pattern or
+     * carries structured fields.
+     * @param level the level the message was logged at
+     * @param prefix the rendered prefix, or {@code null} if no prefix is
+     * written
+     * @param message the formatted message text
+     * @param newLine whether the message ends with a line separator
+     * @param timeMillis the time the message was logged
+     * @param threadName the name of the thread that logged the message
+     * @param pattern the pattern the message was formatted from, or
+     * {@code null}
+     * @param arguments the arguments substituted into the pattern, or
+     * {@code null}
+     * @param fields the structured fields, or {@code null}
+     * @see MessageFormatter
+     */
+    public LogEvent(Level level, String prefix, String message, boolean newLine, long timeMillis, String threadName, String pattern, Object[] arguments, LogFields fields) {
+        this.level = level;
+        this.prefix = prefix;
+        this.message = message;
+        this.newLine = newLine;
+        this.timeMillis = timeMillis;
+        this.threadName = threadName;
+        this.pattern = pattern;
+        this.arguments = arguments;
+        this.fields = fields;
+    }
+    public Level getLevel() {
+        return(level);
+    }
+    public String getPrefix() {
+        return(prefix);
+    }
+    public String getMessage() {
+        return(message);
+    }
+    public boolean isNewLine() {
+        return(newLine);
+    }
+    public long getTimeMillis() {
+        return(timeMillis);
+    }
+    public String getThreadName() {
+        return(threadName);
+    }
+    /**
+     * Returns the pattern the message was formatted from.
+     * @return the pattern, or {@code null} if the message was logged as
+     * plain text
+     */
+    public String getPattern() {
+        return(pattern);
+    }
+    /**
+     * Returns the arguments substituted into the pattern. The array is
+     * shared, not copied. The fixed-arity {@code Logger.log} methods only
+     * capture their arguments while an appender that records them, such as
+     * {@link JournalAppender}, is open.
+     * @return the arguments, or {@code null} if the message was logged as
+     * plain text or its arguments were not captured
+     */
+    public Object[] getArguments() {
+        return(arguments);
+    }
+    /**
+     * Returns the structured fields attached to the message.
+     * @return the fields, or {@code null} if there are none
+     */
+    public LogFields getFields() {
+        return(fields);
+    }
+    /**
+     * Returns the prefix, message and line separator as one string. The
+     * string is built the first time this method is called and shared by
+     * every later caller.
+     * @return the full text of the event
+     */
+    public String getText() {
+        String t = text;
+        if (t == null) {
+            StringBuilder sb = new StringBuilder((prefix == null ? 0 : prefix.length()) + message.length() + 2);
+            if (prefix != null) {
+                sb.append(prefix);
+            }
+            sb.append(message);
+            if (newLine) {
+                sb.append(LINE_SEPARATOR);
+            }
+            t = sb.toString();
+            text = t;
+        }
+        return(t);
+    }
+    @Override
+    public String toString() {
+        return(getText());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.util.Arrays;
+
+/**
+ * An ordered list of key/value pairs attached to a log message, for
+ * structured appenders such as {@link JsonLinesAppender}.
+ * <p>
+ * Fields are built with {@link #of(String, Object)} and
+ * {@link #and(String, Object)}:
+ * <pre>
+ * Logger.log(Level.INFO, "Request served", LogFields.of("user", user).and("ms", elapsed));
+ * </pre>
+ * A {@code LogFields} instance must not be modified once it has been
+ * logged.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see Logger#log(Level, String, LogFields)
+ */
+public final class LogFields {
+    private String[] keys = new String[4];
+    private Object[] values = new Object[4];
+    private int size;
+    private LogFields() {
+    }
+    public static LogFields of(String key, Object value) {
+        return(new LogFields().and(key, value));
+    }
+    /**
+     * Adds a field.
+     * @param key the field name
+     * @param value the field value; numbers and booleans are kept as they
+     * are and anything else is converted to text
+     * @return this object
+     */
+    public LogFields and(String key, Object value) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return(this);
+    }
+    public String getKey(int index) {
+        checkIndex(index);
+        return(keys[index]);
+    }
+    public Object getValue(int index) {
+        checkIndex(index);
+        return(values[index]);
+    }
+    public int size() {
+        return(size);
+    }
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append('=');
+            MessageFormatter.appendArgument(sb, values[i]);
+        }
+        return(sb.append('}').toString());
+    }
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
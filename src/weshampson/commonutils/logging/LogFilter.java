@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+/**
+ * Decides whether a message is passed on to a {@link Logger}'s console and
+ * appenders.
+ * <p>
+ * A filter is consulted by the static {@code log} methods on the calling
+ * thread, after the minimum level check and before the message is queued or
+ * printed, so it must be thread-safe and cheap.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see Logger#setFilter(LogFilter)
+ */
+public interface LogFilter {
+    /**
+     * Returns whether a message should be logged.
+     * @param level the level the message is logged at
+     * @param message the formatted message
+     * @return {@code true} to log the message, {@code false} to discard it
+     */
+    boolean isLoggable(Level level, String message);
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Logging metrics, readable in-process and, once {@link #register()} has
+ * been called, published as platform MBeans under the
+ * {@code weshampson.commonutils.logging} domain:
+ * <ul>
+ * <li>{@code type=Logger} - latency histograms for
+ * {@link Logger#print(Level, String, boolean, boolean)} and for the time
+ * spent waiting for the print lock in the static {@code log} methods</li>
+ * <li>{@code type=Level} - one {@link LevelMetrics} per level that has been
+ * logged at</li>
+ * <li>{@code type=Sink} - one {@link SinkMetrics} per open appender</li>
+ * </ul>
+ * Every counter is striped across cache lines, so recording is cheap even
+ * when many threads log at once. Timing costs two extra clock reads per
+ * message and can be turned off with {@link #setTimingEnabled(boolean)}.
+ * <p>
+ * Nothing is published by default, so logging does not start the platform
+ * MBean server. Call {@link #register()}, or set the
+ * {@value #JMX_PROPERTY} system property to {@code true}, to publish.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public final class LogMetrics implements LogMetricsMBean {
+    public static final String DOMAIN = "weshampson.commonutils.logging";
+    public static final String JMX_PROPERTY = DOMAIN + ".jmx";
+    private static final LogMetrics INSTANCE = new LogMetrics();
+    private static final LatencyHistogram PRINT_LATENCY = new LatencyHistogram();
+    private static final LatencyHistogram LOCK_WAIT = new LatencyHistogram();
+    private static final ConcurrentMap<String, AtomicInteger> SINK_SEQUENCES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Object, ObjectName> REGISTERED = new ConcurrentHashMap<>();
+    private static final List<SinkMetrics> OPEN_SINKS = new CopyOnWriteArrayList<>();
+    private static final List<LevelMetrics> LEVELS = new CopyOnWriteArrayList<>();
+    private static final ReentrantLock PUBLISH_LOCK = new ReentrantLock();
+    private static boolean published;
+    private static volatile boolean timingEnabled = true;
+    static {
+        if (Boolean.getBoolean(JMX_PROPERTY)) {
+            register();
+        }
+    }
+    private LogMetrics() {
+    }
+    public static LogMetrics getInstance() {
+        return(INSTANCE);
+    }
+    /**
+     * Publishes the logging metrics as platform MBeans. Metrics for levels
+     * and appenders created later are published as they appear. Calling
+     * this more than once has no further effect.
+     */
+    public static void register() {
+        PUBLISH_LOCK.lock();
+        try {
+            if (published) {
+                return;
+            }
+            published = true;
+            publish(INSTANCE, "Logger", "Logger");
+            for (LevelMetrics levelMetrics : LEVELS) {
+                publish(levelMetrics, "Level", levelMetrics.getLevelName());
+            }
+            for (SinkMetrics sinkMetrics : OPEN_SINKS) {
+                publish(sinkMetrics, "Sink", sinkMetrics.getName());
+            }
+        } finally {
+            PUBLISH_LOCK.unlock();
+        }
+    }
+    public static LatencyHistogram getPrintLatency() {
+        return(PRINT_LATENCY);
+    }
+    public static LatencyHistogram getLockWaitLatency() {
+        return(LOCK_WAIT);
+    }
+    /**
+     * Returns the metrics for a level, creating and publishing them the
+     * first time.
+     * @param level the level
+     * @return the level's metrics
+     */
+    public static LevelMetrics getLevelMetrics(Level level) {
+        return(level.getMetrics());
+    }
+    /**
+     * Returns the metrics of every appender that is still open.
+     * @return an unmodifiable snapshot
+     */
+    public static List<SinkMetrics> getSinkMetrics() {
+        return(Collections.unmodifiableList(new ArrayList<>(OPEN_SINKS)));
+    }
+    @Override
+    public boolean isTimingEnabled() {
+        return(timingEnabled);
+    }
+    @Override
+    public void setTimingEnabled(boolean enabled) {
+        timingEnabled = enabled;
+    }
+    @Override
+    public long getPrintCount() {
+        return(PRINT_LATENCY.getCount());
+    }
+    @Override
+    public double getPrintLatencyMean() {
+        return(PRINT_LATENCY.getMean());
+    }
+    @Override
+    public long getPrintLatency50thPercentile() {
+        return(PRINT_LATENCY.getPercentile(50));
+    }
+    @Override
+    public long getPrintLatency99thPercentile() {
+        return(PRINT_LATENCY.getPercentile(99));
+    }
+    @Override
+    public long getPrintLatency999thPercentile() {
+        return(PRINT_LATENCY.getPercentile(99.9));
+    }
+    @Override
+    public long getPrintLatencyMax() {
+        return(PRINT_LATENCY.getMax());
+    }
+    @Override
+    public long getLockWaitCount() {
+        return(LOCK_WAIT.getCount());
+    }
+    @Override
+    public double getLockWaitMean() {
+        return(LOCK_WAIT.getMean());
+    }
+    @Override
+    public long getLockWait50thPercentile() {
+        return(LOCK_WAIT.getPercentile(50));
+    }
+    @Override
+    public long getLockWait99thPercentile() {
+        return(LOCK_WAIT.getPercentile(99));
+    }
+    @Override
+    public long getLockWait999thPercentile() {
+        return(LOCK_WAIT.getPercentile(99.9));
+    }
+    @Override
+    public long getLockWaitMax() {
+        return(LOCK_WAIT.getMax());
+    }
+    /**
+     * Returns the time a lock wait starts, or {@code 0} if timing is off.
+     */
+    static long startTimer() {
+        return(timingEnabled ? System.nanoTime() : 0);
+    }
+    /**
+     * Records the time since {@code start} as lock wait and returns the
+     * current time, or returns {@code 0} if the wait was not timed.
+     */
+    static long recordLockWait(long start) {
+        if (start == 0) {
+            return(0);
+        }
+        long now = System.nanoTime();
+        LOCK_WAIT.record(now - start);
+        return(now);
+    }
+    static void recordPrint(long start) {
+        if (start != 0) {
+            PRINT_LATENCY.record(System.nanoTime() - start);
+        }
+    }
+    static LevelMetrics createLevelMetrics(Level level) {
+        LevelMetrics levelMetrics = new LevelMetrics(level);
+        PUBLISH_LOCK.lock();
+        try {
+            LEVELS.add(levelMetrics);
+            if (published) {
+                publish(levelMetrics, "Level", levelMetrics.getLevelName());
+            }
+        } finally {
+            PUBLISH_LOCK.unlock();
+        }
+        return(levelMetrics);
+    }
+    /**
+     * Creates and publishes the metrics for a new appender.
+     * @param type the kind of appender; a sequence number is added to make
+     * the name unique
+     */
+    static SinkMetrics createSinkMetrics(String type) {
+        AtomicInteger sequence = SINK_SEQUENCES.get(type);
+        if (sequence == null) {
+            sequence = new AtomicInteger();
+            AtomicInteger existing = SINK_SEQUENCES.putIfAbsent(type, sequence);
+            if (existing != null) {
+                sequence = existing;
+            }
+        }
+        SinkMetrics sinkMetrics = new SinkMetrics(type + "-" + sequence.incrementAndGet());
+        PUBLISH_LOCK.lock();
+        try {
+            OPEN_SINKS.add(sinkMetrics);
+            if (published) {
+                publish(sinkMetrics, "Sink", sinkMetrics.getName());
+            }
+        } finally {
+            PUBLISH_LOCK.unlock();
+        }
+        return(sinkMetrics);
+    }
+    static void unregister(Object mbean) {
+        ObjectName objectName;
+        PUBLISH_LOCK.lock();
+        try {
+            if (mbean instanceof SinkMetrics) {
+                OPEN_SINKS.remove(mbean);
+            }
+            objectName = REGISTERED.remove(mbean);
+        } finally {
+            PUBLISH_LOCK.unlock();
+        }
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException | SecurityException ex) {
+            // Already gone.
+        }
+    }
+    /**
+     * Publishes an MBean. Metrics remain readable in-process if JMX is
+     * unavailable, so failures are ignored.
+     */
+    private static void publish(Object mbean, String type, String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            try {
+                server.registerMBean(mbean, objectName);
+            } catch (InstanceAlreadyExistsException ex) {
+                // Two levels with the same name.
+                objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name + "@" + Integer.toHexString(System.identityHashCode(mbean))));
+                server.registerMBean(mbean, objectName);
+            }
+            REGISTERED.put(mbean, objectName);
+        } catch (JMException | SecurityException ex) {
+            Logger.DEFAULT_STDERR.println("Failed to register logging metrics - " + ex.toString());
+            Logger.DEFAULT_STDERR.flush();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+/**
+ * The JMX view of the logger-wide {@link LogMetrics}. Latencies are in
+ * nanoseconds.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public interface LogMetricsMBean {
+    boolean isTimingEnabled();
+    void setTimingEnabled(boolean enabled);
+    long getPrintCount();
+    double getPrintLatencyMean();
+    long getPrintLatency50thPercentile();
+    long getPrintLatency99thPercentile();
+    long getPrintLatency999thPercentile();
+    long getPrintLatencyMax();
+    long getLockWaitCount();
+    double getLockWaitMean();
+    long getLockWait50thPercentile();
+    long getLockWait99thPercentile();
+    long getLockWait999thPercentile();
+    long getLockWaitMax();
+}
@@ -21,18 +21,24 @@ package weshampson.commonutils.logging;
 
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import jline.console.ConsoleReader;
 import weshampson.commonutils.io.DocumentOutputStream;
 
 /**
  *
  * @author  Wes Hampson
- * @version 0.3.0 (Sep 27, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.1.0 (Aug 25, 2014)
  */
 public abstract class Logger {
@@ -40,50 +46,21 @@ public abstract class Logger {
     public static final int STREAM_STDERR = 1;
     public static final PrintWriter DEFAULT_STDOUT = new PrintWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), Charset.forName("UTF-8")));
     public static final PrintWriter DEFAULT_STDERR = new PrintWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.err), Charset.forName("UTF-8")));
-    private static Logger currentLogger = new Logger(DEFAULT_STDOUT, DEFAULT_STDERR) {
+    private static volatile Logger currentLogger = new Logger(DEFAULT_STDOUT, DEFAULT_STDERR) {
         @Override
         public void print(Level level, String message, boolean writePrefix, boolean newLine) {
+            String prefix = writePrefix ? parsePrefix(level, level.getPrefix()) : null;
             PrintWriter pw;
             if (level.getStream() == STREAM_STDERR) {
                 pw = getStderr();
             } else {
                 pw = getStdout();
             }
-            if (writePrefix) {
-                pw.print(parsePrefix(level, level.getPrefix()));
-            }
-            pw.print(message);
-            if (newLine) {
-                pw.println();
-            }
-            pw.flush();
-            if (isLoggingToDocumentEnabled()) {
-                DocumentOutputStream documentOutputStream;
-                if (level.getStream() == STREAM_STDERR) {
-                    documentOutputStream = getDocumentErr();
-                } else {
-                    documentOutputStream = getDocumentOut();
-                }
-                documentOutputStream.setDocumentAttributeSet(level.getDocumentAttributeSet());
-                pw = new PrintWriter(documentOutputStream);
-                if (writePrefix) {
-                    pw.print(parsePrefix(level, level.getPrefix()));
-                }
-                pw.print(message);
-                if (newLine) {
-                    pw.println();
-                }
-                pw.flush();
-                documentOutputStream.getTextComponent().setCaretPosition(documentOutputStream.getDocument().getLength());
-            }
-            if (isLoggingToFileEnabled()) {
-                if (level.getStream() == STREAM_STDERR) {
-                    pw = new PrintWriter(getFileErr());
-                } else {
-                    pw = new PrintWriter(getFileOut());
-                }
+            if (pw == DEFAULT_STDOUT || pw == DEFAULT_STDERR) {
+                ConsoleOutput.forLevel(level).print(level, prefix, message, newLine, false);
+            } else {
                 if (writePrefix) {
-                    pw.print(parsePrefix(level, level.getPrefix()));
+                    pw.print(prefix);
                 }
                 pw.print(message);
                 if (newLine) {
@@ -91,8 +68,33 @@ public abstract class Logger {
                 }
                 pw.flush();
             }
+            printToAppenders(level, prefix, message, newLine);
+        }
+    };
+    private static final long ASYNC_SHUTDOWN_TIMEOUT = 5000;
+    /** How long a logging thread waits for room in the document queue. */
+    private static final long DOCUMENT_BLOCK_TIMEOUT = 1000;
+    private static final ThreadLocal<StringBuilder> PREFIX_BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return(new StringBuilder(64));
         }
     };
+    /** Serializes printing; guards the dispatch context fields. */
+    private static final ReentrantLock PRINT_LOCK = new ReentrantLock();
+    /** Guards switching between synchronous and asynchronous mode. */
+    private static final ReentrantLock ASYNC_LOCK = new ReentrantLock();
+    private static final AtomicBoolean SHUTDOWN_HOOK_INSTALLED = new AtomicBoolean();
+    /** The number of open appenders that read {@link LogEvent#getArguments()}. */
+    private static final AtomicInteger ARGUMENT_CONSUMERS = new AtomicInteger();
+    private static volatile AsyncLogDispatcher asyncDispatcher;
+    private static volatile FlightRecorder flightRecorder = new FlightRecorder();
+    private static Thread dispatchContextOwner;
+    private static Thread dispatchContextThread;
+    private static long dispatchContextTime;
+    private static String dispatchContextPattern;
+    private static Object[] dispatchContextArgs;
+    private static LogFields dispatchContextFields;
     private final PrintWriter stdout;
     private final PrintWriter stderr;
     private ConsoleReader consoleReader;
@@ -100,10 +102,20 @@ public abstract class Logger {
     private DocumentOutputStream documentErr;
     private FileOutputStream fileOut;
     private FileOutputStream fileErr;
-    private boolean isColorEnabled;
-    private boolean isLoggingToDocumentEnabled;
-    private boolean isLoggingToFileEnabled;
-    private String consoleReaderPrompt;
+    private volatile FileAppender fileOutAppender;
+    private volatile FileAppender fileErrAppender;
+    private volatile DocumentAppender documentOutAppender;
+    private volatile DocumentAppender documentErrAppender;
+    private volatile AsyncAppender documentWorker;
+    private final List<Appender> appenders = new CopyOnWriteArrayList<>();
+    private final ReentrantLock configLock = new ReentrantLock();
+    private volatile boolean isColorEnabled;
+    private volatile boolean isLoggingToDocumentEnabled;
+    private volatile boolean isLoggingToFileEnabled;
+    private volatile String consoleReaderPrompt;
+    private volatile int minimumSeverity = Integer.MIN_VALUE;
+    private volatile Level minimumLevel;
+    private volatile LogFilter filter;
     public Logger(PrintWriter stdout, PrintWriter stderr) {
         this.stdout = stdout;
         this.stderr = stderr;
@@ -115,52 +127,460 @@ public abstract class Logger {
         this.consoleReaderPrompt = cr.getPrompt();
     }
     public abstract void print(Level level, String message, boolean writePrefix, boolean newLine);
-    public static synchronized void log(Level level, String message) {
-        currentLogger.print(level, message, true, true);
+    /**
+     * Returns whether the installed logger will print messages at a level.
+     * Callers can use this to skip building messages that would be
+     * discarded.
+     * @param level the level to check
+     * @return {@code true} if messages at {@code level} are printed
+     * @see #setMinimumLevel(Level)
+     */
+    public static boolean isEnabled(Level level) {
+        return(level.getSeverity() >= currentLogger.minimumSeverity);
     }
-    public static synchronized void log(Level level, String message, boolean writePrefix, boolean newLine) {
-        currentLogger.print(level, message, writePrefix, newLine);
+    public static void log(Level level, String message) {
+        log(level, message, true, true);
     }
-    public static synchronized void log(Level level, Throwable t, String customMessage) {
-        if (customMessage == null) {
-            customMessage = t.getClass().getSimpleName() + ": " + t.getMessage();
+    public static void log(Level level, String message, boolean writePrefix, boolean newLine) {
+        Logger logger = currentLogger;
+        if (level.getSeverity() < logger.minimumSeverity) {
+            return;
+        }
+        LogFilter logFilter = logger.filter;
+        if (logFilter != null && !logFilter.isLoggable(level, message)) {
+            level.getMetrics().recordDrop();
+            return;
+        }
+        level.getMetrics().recordEvent(message);
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null && dispatcher.publish(level, message, writePrefix, newLine)) {
+            return;
+        }
+        dispatch(level, message, writePrefix, newLine);
+    }
+    /**
+     * Logs a message with structured fields. The fields are passed to every
+     * {@link Appender} with the message; text output shows only the message.
+     * @param level the level to log at
+     * @param message the message to log
+     * @param fields the key/value pairs to attach
+     * @see JsonLinesAppender
+     */
+    public static void log(Level level, String message, LogFields fields) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
+        }
+        log(level, message, null, null, fields);
+    }
+    /**
+     * Logs an already formatted message along with the pattern, arguments
+     * and fields it was built from, so that appenders can record them.
+     */
+    private static void log(Level level, String message, String pattern, Object[] args, LogFields fields) {
+        LogFilter logFilter = currentLogger.filter;
+        if (logFilter != null && !logFilter.isLoggable(level, message)) {
+            level.getMetrics().recordDrop();
+            return;
+        }
+        level.getMetrics().recordEvent(message);
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null && dispatcher.publish(level, message, pattern, args, fields, true, true)) {
+            return;
+        }
+        dispatch(level, message, pattern, args, fields, true, true, System.currentTimeMillis(), Thread.currentThread());
+    }
+    /**
+     * Logs a message that is only built if the level is enabled.
+     * @param level the level to log at
+     * @param messageSupplier supplies the message text
+     */
+    public static void log(Level level, MessageSupplier messageSupplier) {
+        log(level, messageSupplier, true, true);
+    }
+    public static void log(Level level, MessageSupplier messageSupplier, boolean writePrefix, boolean newLine) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
+        }
+        log(level, messageSupplier.get(), writePrefix, newLine);
+    }
+    /**
+     * Logs a message built from a pattern and one argument. The message is
+     * only formatted if the level is enabled, and the argument is only
+     * copied into an array for the event if an appender that records
+     * arguments, such as {@link JournalAppender}, is open.
+     * @param level the level to log at
+     * @param pattern the message pattern; each {@code {}} is replaced by the
+     * next argument
+     * @param arg the argument
+     * @see MessageFormatter
+     */
+    public static void log(Level level, String pattern, Object arg) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
+        }
+        log(level, MessageFormatter.format(pattern, arg), pattern, ARGUMENT_CONSUMERS.get() > 0 ? new Object[] {arg} : null, null);
+    }
+    public static void log(Level level, String pattern, Object arg1, Object arg2) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
+        }
+        log(level, MessageFormatter.format(pattern, arg1, arg2), pattern, ARGUMENT_CONSUMERS.get() > 0 ? new Object[] {arg1, arg2} : null, null);
+    }
+    public static void log(Level level, String pattern, Object arg1, Object arg2, Object arg3) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
+        }
+        log(level, MessageFormatter.format(pattern, arg1, arg2, arg3), pattern, ARGUMENT_CONSUMERS.get() > 0 ? new Object[] {arg1, arg2, arg3} : null, null);
+    }
+    public static void log(Level level, String pattern, Object... args) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
         }
-        currentLogger.print(level, customMessage, true, true);
+        log(level, MessageFormatter.format(pattern, args), pattern, args, null);
+    }
+    public static void log(Level level, Throwable t, String customMessage) {
+        log(level, t, customMessage, true, true);
     }
-    public static synchronized void log(Level level, Throwable t, String customMessage, boolean writePrefix, boolean newLine) {
+    public static void log(Level level, Throwable t, String customMessage, boolean writePrefix, boolean newLine) {
+        if (level.getSeverity() < currentLogger.minimumSeverity) {
+            return;
+        }
         if (customMessage == null) {
             customMessage = t.getClass().getSimpleName() + ": " + t.getMessage();
         }
-        currentLogger.print(level, customMessage, writePrefix, newLine);
+        log(level, customMessage, writePrefix, newLine);
+    }
+    /**
+     * Logs a message without consulting the filter. Used by filters to
+     * report what they have discarded.
+     */
+    static void logUnfiltered(Level level, String message) {
+        level.getMetrics().recordEvent(message);
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null && dispatcher.publish(level, message, true, true)) {
+            return;
+        }
+        dispatch(level, message, true, true);
+    }
+    /**
+     * Registers an open appender that reads {@link LogEvent#getArguments()},
+     * so that the fixed-arity {@code log} methods capture their arguments.
+     * Each call must be matched by a call to
+     * {@link #removeArgumentConsumer()} when the appender is closed.
+     */
+    static void addArgumentConsumer() {
+        ARGUMENT_CONSUMERS.incrementAndGet();
+    }
+    static void removeArgumentConsumer() {
+        ARGUMENT_CONSUMERS.decrementAndGet();
+    }
+    /**
+     * Switches the static {@code log} methods to asynchronous mode.
+     * <p>
+     * Once enabled, calling threads only copy each event into a bounded ring
+     * buffer and return; a single background thread prints the events on
+     * the installed logger in the order they were published. A shutdown hook
+     * drains the ring buffer when the JVM exits.
+     * @param bufferSize the number of events the ring buffer can hold
+     * @param waitStrategy the strategy used by the background thread when
+     * there is nothing to print
+     * @see AsyncLogDispatcher
+     */
+    public static void enableAsyncLogging(int bufferSize, WaitStrategy waitStrategy) {
+        ASYNC_LOCK.lock();
+        try {
+            if (asyncDispatcher != null) {
+                return;
+            }
+            AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(bufferSize, waitStrategy);
+            dispatcher.start();
+            asyncDispatcher = dispatcher;
+        } finally {
+            ASYNC_LOCK.unlock();
+        }
+        installShutdownHook();
+    }
+    public static void enableAsyncLogging() {
+        enableAsyncLogging(AsyncLogDispatcher.DEFAULT_BUFFER_SIZE, new WaitStrategy.Blocking());
+    }
+    /**
+     * Switches the static {@code log} methods back to synchronous mode after
+     * printing every event still held in the ring buffer.
+     * @param timeoutMillis the maximum time to wait for the ring buffer to
+     * drain, or {@code 0} to wait forever
+     * @return {@code true} if every queued event was printed
+     */
+    public static boolean disableAsyncLogging(long timeoutMillis) {
+        AsyncLogDispatcher dispatcher;
+        ASYNC_LOCK.lock();
+        try {
+            dispatcher = asyncDispatcher;
+            asyncDispatcher = null;
+        } finally {
+            ASYNC_LOCK.unlock();
+        }
+        if (dispatcher == null) {
+            return(true);
+        }
+        try {
+            return(dispatcher.shutdown(timeoutMillis));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return(false);
+        }
+    }
+    /**
+     * Installs, once, the hook that drains the asynchronous ring buffer and
+     * writes any buffered file output when the JVM exits.
+     */
+    static void installShutdownHook() {
+        if (!SHUTDOWN_HOOK_INSTALLED.compareAndSet(false, true)) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                disableAsyncLogging(ASYNC_SHUTDOWN_TIMEOUT);
+                currentLogger.flushAppenders();
+                FileAppender.flushAll();
+            }
+        }, "Logger-shutdown"));
+    }
+    public static boolean isAsyncLoggingEnabled() {
+        return(asyncDispatcher != null);
+    }
+    /**
+     * Prints an event on the installed logger while holding the print lock,
+     * recording the time spent waiting for the lock and printing.
+     */
+    static void dispatch(Level level, String message, boolean writePrefix, boolean newLine) {
+        long waitStart = LogMetrics.startTimer();
+        PRINT_LOCK.lock();
+        try {
+            long printStart = LogMetrics.recordLockWait(waitStart);
+            try {
+                currentLogger.print(level, message, writePrefix, newLine);
+            } finally {
+                LogMetrics.recordPrint(printStart);
+            }
+        } finally {
+            PRINT_LOCK.unlock();
+        }
+    }
+    /**
+     * Prints an event, possibly on behalf of another thread. The time,
+     * thread, pattern, arguments and fields are passed on to any
+     * {@link LogEvent} created while printing.
+     */
+    static void dispatch(Level level, String message, String pattern, Object[] args, LogFields fields, boolean writePrefix, boolean newLine, long timeMillis, Thread thread) {
+        long waitStart = LogMetrics.startTimer();
+        PRINT_LOCK.lock();
+        try {
+            long printStart = LogMetrics.recordLockWait(waitStart);
+            dispatchContextOwner = Thread.currentThread();
+            dispatchContextThread = thread;
+            dispatchContextTime = timeMillis;
+            dispatchContextPattern = pattern;
+            dispatchContextArgs = args;
+            dispatchContextFields = fields;
+            try {
+                currentLogger.print(level, message, writePrefix, newLine);
+            } finally {
+                dispatchContextOwner = null;
+                dispatchContextThread = null;
+                dispatchContextPattern = null;
+                dispatchContextArgs = null;
+                dispatchContextFields = null;
+                LogMetrics.recordPrint(printStart);
+            }
+        } finally {
+            PRINT_LOCK.unlock();
+        }
     }
     public static String parsePrefix(Level level, String text) {
-        String prefix = level.getPrefix();
-        prefix = prefix.replaceAll("%d", new Timestamp("MM-dd-YYYY").getTimestamp());
-        prefix = prefix.replaceAll("%D", new Timestamp("dd-MMM-YYYY").getTimestamp());
-        prefix = prefix.replaceAll("%s", text);
-        prefix = prefix.replaceAll("%t", new Timestamp("hh:mm:ss a").getTimestamp());
-        prefix = prefix.replaceAll("%T", new Timestamp("HH:mm:ss").getTimestamp());
-        Pattern p = Pattern.compile("%[\\{].*[\\}]dt");
-        Matcher m = p.matcher(prefix);
-        if (m.find()) {
-            p = Pattern.compile("\\{.*?\\}");
-            m = p.matcher(prefix);
-            if (m.find()) {
-                String dtFormat = m.group(0).replaceAll("\\{|\\}", "");
-                prefix = prefix.replaceAll("%[\\{].*[\\}]dt", new Timestamp(dtFormat).getTimestamp());
-            }
-        }
-        return(prefix);
-    }
-    public static synchronized Logger getLogger() {
+        PrefixTemplate template = level.getPrefixTemplate();
+        if (template.isConstant()) {
+            return(template.render(text));
+        }
+        StringBuilder sb = PREFIX_BUFFER.get();
+        sb.setLength(0);
+        return(template.render(text, sb).toString());
+    }
+    /**
+     * Returns the recorder that keeps the last few printed events for crash
+     * reports. A recorder with the default capacity is installed when the
+     * class is loaded.
+     * @return the installed recorder, or {@code null} if recording is off
+     */
+    public static FlightRecorder getFlightRecorder() {
+        return(flightRecorder);
+    }
+    /**
+     * Replaces the flight recorder.
+     * @param recorder the new recorder, or {@code null} to stop recording
+     */
+    public static void setFlightRecorder(FlightRecorder recorder) {
+        flightRecorder = recorder;
+    }
+    /**
+     * Runs a task while holding the print lock, so that no message is
+     * printed while it runs. Used to apply a new configuration in one step.
+     * @param task the task to run
+     */
+    static void runExclusively(Runnable task) {
+        PRINT_LOCK.lock();
+        try {
+            task.run();
+        } finally {
+            PRINT_LOCK.unlock();
+        }
+    }
+    public static Logger getLogger() {
         return(currentLogger);
     }
-    public static synchronized void setLogger(Logger logger) {
+    public static void setLogger(Logger logger) {
         currentLogger = logger;
     }
+    /**
+     * Passes a printed message to the document and file sinks, if they are
+     * enabled, and to every registered {@link Appender}. A single
+     * {@link LogEvent} is created and shared by all of them.
+     * @param level the level the message is logged at
+     * @param prefix the rendered prefix, or {@code null} for none
+     * @param message the message text
+     * @param newLine whether to end the message with a line separator
+     */
+    protected void printToAppenders(Level level, String prefix, String message, boolean newLine) {
+        boolean toDocument = isLoggingToDocumentEnabled;
+        boolean toFile = isLoggingToFileEnabled;
+        FlightRecorder recorder = flightRecorder;
+        if (recorder == null && !toDocument && !toFile && appenders.isEmpty()) {
+            return;
+        }
+        LogEvent event = createEvent(level, prefix, message, newLine);
+        if (recorder != null) {
+            recorder.record(event);
+        }
+        boolean stderr = level.getStream() == STREAM_STDERR;
+        if (toDocument) {
+            AsyncAppender worker = documentWorker;
+            if (worker != null && (stderr ? documentErrAppender : documentOutAppender) != null) {
+                worker.append(event);
+            }
+        }
+        if (toFile) {
+            Appender appender = stderr ? fileErrAppender : fileOutAppender;
+            if (appender != null) {
+                appender.append(event);
+            }
+        }
+        for (Appender appender : appenders) {
+            appender.append(event);
+        }
+    }
+    /**
+     * Registers an appender. Appenders can be added and removed at any time,
+     * including while other threads are logging.
+     * @param appender the appender to add
+     */
+    public void addAppender(Appender appender) {
+        appenders.add(appender);
+    }
+    /**
+     * Unregisters an appender. The appender is not closed.
+     * @param appender the appender to remove
+     * @return {@code true} if the appender was registered
+     */
+    public boolean removeAppender(Appender appender) {
+        return(appenders.remove(appender));
+    }
+    public List<Appender> getAppenders() {
+        return(Collections.unmodifiableList(appenders));
+    }
+    /**
+     * Flushes the document, file and registered appenders. Failures are
+     * reported on {@link #DEFAULT_STDERR}.
+     */
+    public void flushAppenders() {
+        List<Appender> all = new ArrayList<>(appenders);
+        all.add(documentWorker);
+        all.add(fileOutAppender);
+        all.add(fileErrAppender);
+        for (Appender appender : all) {
+            if (appender == null) {
+                continue;
+            }
+            try {
+                appender.flush();
+            } catch (IOException ex) {
+                DEFAULT_STDERR.println("Failed to flush appender - " + ex.toString());
+                DEFAULT_STDERR.flush();
+            }
+        }
+    }
+    private static LogEvent createEvent(Level level, String prefix, String message, boolean newLine) {
+        Thread current = Thread.currentThread();
+        if (dispatchContextOwner == current && dispatchContextThread != null) {
+            return(new LogEvent(level, prefix, message, newLine, dispatchContextTime, dispatchContextThread.getName(), dispatchContextPattern, dispatchContextArgs, dispatchContextFields));
+        }
+        return(new LogEvent(level, prefix, message, newLine, System.currentTimeMillis(), current.getName()));
+    }
+    /**
+     * Starts the thread that delivers events to the documents, if it is not
+     * already running. Must be called with {@link #configLock} held.
+     */
+    private void startDocumentWorker() {
+        if (documentWorker == null) {
+            documentWorker = new AsyncAppender(new DocumentRouter(), AsyncAppender.DEFAULT_QUEUE_CAPACITY, DOCUMENT_BLOCK_TIMEOUT);
+        }
+    }
+    /**
+     * Waits for the events already queued for the documents to be
+     * delivered. Must be called with {@link #configLock} held.
+     */
+    private void drainDocumentWorker() {
+        AsyncAppender worker = documentWorker;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.flush();
+        } catch (IOException ex) {
+            DEFAULT_STDERR.println("Failed to flush appender - " + ex.toString());
+            DEFAULT_STDERR.flush();
+        }
+    }
+    private void closeIfUnused(Appender appender) {
+        if (appender != null && appender != documentOutAppender && appender != documentErrAppender) {
+            try {
+                appender.close();
+            } catch (IOException ex) {
+                DEFAULT_STDERR.println("Failed to close appender - " + ex.toString());
+                DEFAULT_STDERR.flush();
+            }
+        }
+    }
+    private void releaseIfUnused(FileAppender appender) {
+        if (appender != null && appender != fileOutAppender && appender != fileErrAppender) {
+            appender.release();
+        }
+    }
     public String getConsoleReaderPrompt() {
         return(consoleReaderPrompt);
     }
+    /**
+     * Returns the least severe level this logger prints.
+     * @return the minimum level, or {@code null} if every level is printed
+     */
+    public Level getMinimumLevel() {
+        return(minimumLevel);
+    }
+    public LogFilter getFilter() {
+        return(filter);
+    }
+    public boolean isLevelEnabled(Level level) {
+        return(level.getSeverity() >= minimumSeverity);
+    }
     public DocumentOutputStream getDocumentOut() {
         return(documentOut);
     }
@@ -173,6 +593,12 @@ public abstract class Logger {
     public FileOutputStream getFileErr() {
         return(fileErr);
     }
+    public FileAppender getFileOutAppender() {
+        return(fileOutAppender);
+    }
+    public FileAppender getFileErrAppender() {
+        return(fileErrAppender);
+    }
     public PrintWriter getStderr() {
         return(stderr);
     }
@@ -191,29 +617,193 @@ public abstract class Logger {
     public boolean isLoggingToFileEnabled() {
         return(isLoggingToFileEnabled);
     }
-    public synchronized void setColorEnabled(boolean enabled) {
+    public void setColorEnabled(boolean enabled) {
         isColorEnabled = enabled;
     }
-    public synchronized void setConsoleReaderPrompt(String prompt) {
-        consoleReaderPrompt = prompt;
-        consoleReader.setPrompt(prompt);
+    /**
+     * Sets the filter that messages must pass before they are printed.
+     * @param filter the filter, or {@code null} to log every message that
+     * meets the minimum level
+     * @see ThrottlingFilter
+     */
+    public void setFilter(LogFilter filter) {
+        this.filter = filter;
+    }
+    /**
+     * Sets the least severe level this logger prints. Messages logged at a
+     * level with a lower severity are discarded before they are formatted.
+     * <p>
+     * The level's severity is read when this method is called; changing it
+     * later with {@link Level#setSeverity(int)} has no effect on the
+     * threshold.
+     * @param level the minimum level, or {@code null} to print every level
+     */
+    public void setMinimumLevel(Level level) {
+        configLock.lock();
+        try {
+            minimumLevel = level;
+            minimumSeverity = level == null ? Integer.MIN_VALUE : level.getSeverity();
+        } finally {
+            configLock.unlock();
+        }
     }
-    public synchronized void setDocumentErr(DocumentOutputStream documentErr) {
-        this.documentErr = documentErr;
+    public void setConsoleReaderPrompt(String prompt) {
+        configLock.lock();
+        try {
+            consoleReaderPrompt = prompt;
+            consoleReader.setPrompt(prompt);
+        } finally {
+            configLock.unlock();
+        }
     }
-    public synchronized void setDocumentOut(DocumentOutputStream documentOut) {
-        this.documentOut = documentOut;
+    /**
+     * Sets the document that messages logged to {@link #STREAM_STDERR} are
+     * written to when document logging is enabled. Text is inserted by a
+     * {@link DocumentAppender} on an {@link AsyncAppender} thread that both
+     * documents share, so a slow document does not hold up the console or
+     * file output. If the document falls behind, logging threads wait for
+     * up to a second for room before an event is dropped, and dropped
+     * events are reported in the document. Events queued for the previous
+     * document are delivered before it is replaced.
+     * @param documentErr the document stream, or {@code null} for none
+     */
+    public void setDocumentErr(DocumentOutputStream documentErr) {
+        configLock.lock();
+        try {
+            drainDocumentWorker();
+            Appender oldAppender = documentErrAppender;
+            if (documentErr == null) {
+                documentErrAppender = null;
+            } else if (documentErr == documentOut) {
+                documentErrAppender = documentOutAppender;
+            } else {
+                startDocumentWorker();
+                documentErrAppender = new DocumentAppender(documentErr);
+            }
+            this.documentErr = documentErr;
+            closeIfUnused(oldAppender);
+        } finally {
+            configLock.unlock();
+        }
     }
-    public synchronized void setFileErr(FileOutputStream fileErr) {
-        this.fileErr = fileErr;
+    /**
+     * Sets the document that messages logged to {@link #STREAM_STDOUT} are
+     * written to when document logging is enabled. Text is inserted by a
+     * {@link DocumentAppender} on an {@link AsyncAppender} thread that both
+     * documents share, so a slow document does not hold up the console or
+     * file output. If the document falls behind, logging threads wait for
+     * up to a second for room before an event is dropped, and dropped
+     * events are reported in the document. Events queued for the previous
+     * document are delivered before it is replaced.
+     * @param documentOut the document stream, or {@code null} for none
+     */
+    public void setDocumentOut(DocumentOutputStream documentOut) {
+        configLock.lock();
+        try {
+            drainDocumentWorker();
+            Appender oldAppender = documentOutAppender;
+            if (documentOut == null) {
+                documentOutAppender = null;
+            } else if (documentOut == documentErr) {
+                documentOutAppender = documentErrAppender;
+            } else {
+                startDocumentWorker();
+                documentOutAppender = new DocumentAppender(documentOut);
+            }
+            this.documentOut = documentOut;
+            closeIfUnused(oldAppender);
+        } finally {
+            configLock.unlock();
+        }
     }
-    public synchronized void setFileOut(FileOutputStream fileOut) {
-        this.fileOut = fileOut;
+    /**
+     * Sets the file that messages logged to {@link #STREAM_STDERR} are
+     * written to when file logging is enabled. Output is buffered by a
+     * {@link FileAppender} with the default settings; if {@code fileErr} is
+     * the same stream as the current {@code fileOut}, both share one
+     * appender.
+     * @param fileErr the stream to write to, or {@code null} for none
+     */
+    public void setFileErr(FileOutputStream fileErr) {
+        configLock.lock();
+        try {
+            FileAppender appender = null;
+            if (fileErr != null) {
+                appender = fileErr == fileOut ? fileOutAppender : new FileAppender(fileErr);
+            }
+            setFileErrAppender(appender);
+            this.fileErr = fileErr;
+        } finally {
+            configLock.unlock();
+        }
     }
-    public synchronized void setLoggingToDocumentEnabled(boolean enabled) {
+    /**
+     * Sets the file that messages logged to {@link #STREAM_STDOUT} are
+     * written to when file logging is enabled. Output is buffered by a
+     * {@link FileAppender} with the default settings; if {@code fileOut} is
+     * the same stream as the current {@code fileErr}, both share one
+     * appender.
+     * @param fileOut the stream to write to, or {@code null} for none
+     */
+    public void setFileOut(FileOutputStream fileOut) {
+        configLock.lock();
+        try {
+            FileAppender appender = null;
+            if (fileOut != null) {
+                appender = fileOut == fileErr ? fileErrAppender : new FileAppender(fileOut);
+            }
+            setFileOutAppender(appender);
+            this.fileOut = fileOut;
+        } finally {
+            configLock.unlock();
+        }
+    }
+    public void setFileErrAppender(FileAppender fileErrAppender) {
+        configLock.lock();
+        try {
+            FileAppender oldAppender = this.fileErrAppender;
+            this.fileErrAppender = fileErrAppender;
+            this.fileErr = null;
+            releaseIfUnused(oldAppender);
+        } finally {
+            configLock.unlock();
+        }
+    }
+    public void setFileOutAppender(FileAppender fileOutAppender) {
+        configLock.lock();
+        try {
+            FileAppender oldAppender = this.fileOutAppender;
+            this.fileOutAppender = fileOutAppender;
+            this.fileOut = null;
+            releaseIfUnused(oldAppender);
+        } finally {
+            configLock.unlock();
+        }
+    }
+    public void setLoggingToDocumentEnabled(boolean enabled) {
         isLoggingToDocumentEnabled = enabled;
     }
-    public synchronized void setLoggingToFileEnabled(boolean enabled) {
+    public void setLoggingToFileEnabled(boolean enabled) {
         isLoggingToFileEnabled = enabled;
     }
+    /**
+     * Passes each event delivered by the document worker to the document
+     * for its level's stream.
+     */
+    private final class DocumentRouter implements Appender {
+        @Override
+        public void append(LogEvent event) {
+            Level level = event.getLevel();
+            DocumentAppender appender = level != null && level.getStream() == STREAM_STDERR ? documentErrAppender : documentOutAppender;
+            if (appender != null) {
+                appender.append(event);
+            }
+        }
+        @Override
+        public void flush() throws IOException {
+        }
+        @Override
+        public void close() throws IOException {
+        }
+    }
 }
\ No newline at end of file
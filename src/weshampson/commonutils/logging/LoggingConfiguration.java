@@ -0,0 +1,425 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.dom4j.Element;
+import weshampson.commonutils.ansi.ANSI;
+import weshampson.commonutils.xml.XMLReader;
+
+/**
+ * An immutable logging configuration read from an XML file.
+ * <p>
+ * A configuration file looks like this; every element and attribute is
+ * optional:
+ * <pre>
+ * &lt;logging minimumLevel="INFO" color="true"&gt;
+ *     &lt;level name="INFO" prefix="[%T INFO]: " color="DEFAULT"/&gt;
+ *     &lt;level name="DEBUG" severity="700" stream="stdout" prefix="[%T DEBUG]: "
+ *            color="DARK_GRAY" documentColor="#808080"/&gt;
+ *     &lt;file stream="both" path="logs/app.log" compressed="false"/&gt;
+ * &lt;/logging&gt;
+ * </pre>
+ * A {@code level} element updates the {@link Level} with that name, or
+ * creates it if there is none; attributes that are left out keep their
+ * current values. A {@code file} element sends the {@code out},
+ * {@code err} or {@code both} streams to a file, gzipped if
+ * {@code compressed} is set. Files opened by an earlier configuration are
+ * kept open if the new one names the same path, and closed if it does not.
+ * <p>
+ * {@link #apply()} makes every change while no message is being printed, so
+ * a message is printed either entirely under the old configuration or
+ * entirely under the new one. The logging path itself takes no extra locks;
+ * it only reads the volatile snapshots that {@code apply} replaces. Use
+ * {@link LoggingConfigurationWatcher} to reload a file whenever it changes.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public final class LoggingConfiguration {
+    public static final String XMLTAG_ROOT = "logging";
+    public static final String XMLTAG_LEVEL = "level";
+    public static final String XMLTAG_FILE = "file";
+    private static final ReentrantLock APPLY_LOCK = new ReentrantLock();
+    private static volatile LoggingConfiguration current;
+    private static FileAppender outAppender;
+    private static FileAppender errAppender;
+    private final String minimumLevel;
+    private final Boolean colorEnabled;
+    private final List<LevelSettings> levels;
+    private final FileSettings fileOut;
+    private final FileSettings fileErr;
+    private LoggingConfiguration(String minimumLevel, Boolean colorEnabled, List<LevelSettings> levels, FileSettings fileOut, FileSettings fileErr) {
+        this.minimumLevel = minimumLevel;
+        this.colorEnabled = colorEnabled;
+        this.levels = Collections.unmodifiableList(levels);
+        this.fileOut = fileOut;
+        this.fileErr = fileErr;
+    }
+    /**
+     * Parses a configuration file.
+     * @param file the file to read
+     * @return the configuration
+     * @throws IOException if the file cannot be read
+     * @throws DocumentException if the file is not a valid configuration
+     */
+    public static LoggingConfiguration read(File file) throws IOException, DocumentException {
+        Document document;
+        try (InputStream in = new FileInputStream(file)) {
+            document = XMLReader.read(in);
+        }
+        Element root = document.getRootElement();
+        if (!root.getName().equals(XMLTAG_ROOT)) {
+            throw new DocumentException("root element must be <" + XMLTAG_ROOT + "> - " + root.getName());
+        }
+        List<LevelSettings> levels = new ArrayList<>();
+        FileSettings fileOut = null;
+        FileSettings fileErr = null;
+        for (Iterator<?> i = root.elementIterator(); i.hasNext();) {
+            Element element = (Element)i.next();
+            if (element.getName().equals(XMLTAG_LEVEL)) {
+                levels.add(parseLevel(element));
+            } else if (element.getName().equals(XMLTAG_FILE)) {
+                String path = element.attributeValue("path");
+                if (path == null) {
+                    throw new DocumentException("<" + XMLTAG_FILE + "> has no path");
+                }
+                File logFile = new File(path);
+                if (!logFile.isAbsolute() && file.getAbsoluteFile().getParentFile() != null) {
+                    logFile = new File(file.getAbsoluteFile().getParentFile(), path);
+                }
+                FileSettings fileSettings = new FileSettings(logFile.getAbsoluteFile(), Boolean.parseBoolean(element.attributeValue("compressed")));
+                String stream = element.attributeValue("stream", "both");
+                if (stream.equals("out") || stream.equals("both")) {
+                    fileOut = fileSettings;
+                }
+                if (stream.equals("err") || stream.equals("both")) {
+                    fileErr = fileSettings;
+                }
+                if (!stream.equals("out") && !stream.equals("err") && !stream.equals("both")) {
+                    throw new DocumentException("invalid file stream - " + stream);
+                }
+            } else {
+                throw new DocumentException("unknown element - " + element.getName());
+            }
+        }
+        String color = root.attributeValue("color");
+        return(new LoggingConfiguration(root.attributeValue("minimumLevel"), color == null ? null : Boolean.valueOf(color), levels, fileOut, fileErr));
+    }
+    /**
+     * Returns the configuration that was applied most recently.
+     * @return the current configuration, or {@code null} if none has been
+     * applied
+     */
+    public static LoggingConfiguration getCurrent() {
+        return(current);
+    }
+    /**
+     * Returns the name of the minimum level to log at.
+     * @return the level name, {@code "ALL"} to log every level, or
+     * {@code null} to leave the minimum level unchanged
+     */
+    public String getMinimumLevel() {
+        return(minimumLevel);
+    }
+    /**
+     * Returns whether console colors are turned on.
+     * @return the setting, or {@code null} to leave it unchanged
+     */
+    public Boolean isColorEnabled() {
+        return(colorEnabled);
+    }
+    public List<LevelSettings> getLevels() {
+        return(levels);
+    }
+    public FileSettings getFileOut() {
+        return(fileOut);
+    }
+    public FileSettings getFileErr() {
+        return(fileErr);
+    }
+    /**
+     * Applies this configuration to the levels and to the installed logger.
+     * New log files are opened before anything else is changed; if a file
+     * cannot be opened or the minimum level is unknown, the existing levels
+     * and the logger are left as they were. Files opened by the previous
+     * configuration that are no longer used are closed.
+     * @throws IOException if the minimum level is unknown or a log file
+     * cannot be opened
+     */
+    public void apply() throws IOException {
+        APPLY_LOCK.lock();
+        try {
+            applyLocked();
+        } finally {
+            APPLY_LOCK.unlock();
+        }
+    }
+    private void applyLocked() throws IOException {
+        final LoggingConfiguration configuration = this;
+        final Logger logger = Logger.getLogger();
+        checkMinimumLevel();
+        LoggingConfiguration previous = current;
+        final FileAppender oldOut = outAppender;
+        final FileAppender oldErr = errAppender;
+        final FileAppender newOut = openIfChanged(fileOut, previous == null ? null : previous.fileOut, oldOut);
+        final FileAppender newErr;
+        try {
+            newErr = fileErr != null && fileErr.equals(fileOut) ? newOut : openIfChanged(fileErr, previous == null ? null : previous.fileErr, oldErr);
+        } catch (IOException ex) {
+            closeIfUnused(newOut, oldOut, oldErr);
+            throw ex;
+        }
+        for (LevelSettings levelSettings : levels) {
+            levelSettings.createIfMissing();
+        }
+        final Level minimum = resolveMinimumLevel(minimumLevel);
+        Logger.runExclusively(new Runnable() {
+            @Override
+            public void run() {
+                for (LevelSettings levelSettings : configuration.levels) {
+                    levelSettings.apply();
+                }
+                if (configuration.minimumLevel != null) {
+                    logger.setMinimumLevel(minimum);
+                }
+                if (configuration.colorEnabled != null) {
+                    logger.setColorEnabled(configuration.colorEnabled);
+                }
+                if (newOut != outAppender) {
+                    logger.setFileOutAppender(newOut);
+                }
+                if (newErr != errAppender) {
+                    logger.setFileErrAppender(newErr);
+                }
+                if (newOut != null || newErr != null) {
+                    logger.setLoggingToFileEnabled(true);
+                } else if (outAppender != null || errAppender != null) {
+                    logger.setLoggingToFileEnabled(false);
+                }
+                outAppender = newOut;
+                errAppender = newErr;
+                current = configuration;
+            }
+        });
+        // The logger has released the replaced appenders, but only closes
+        // streams it opened itself.
+        closeIfUnused(oldOut, newOut, newErr);
+        if (oldErr != oldOut) {
+            closeIfUnused(oldErr, newOut, newErr);
+        }
+    }
+    /**
+     * Checks that the minimum level exists or is defined by this
+     * configuration, before any level is created.
+     */
+    private void checkMinimumLevel() throws IOException {
+        if (minimumLevel == null || minimumLevel.equals("ALL") || Level.forName(minimumLevel) != null) {
+            return;
+        }
+        for (LevelSettings levelSettings : levels) {
+            if (levelSettings.name.equals(minimumLevel)) {
+                return;
+            }
+        }
+        throw new IOException("unknown minimum level - " + minimumLevel);
+    }
+    /**
+     * Closes an appender opened by this class unless one of the appenders
+     * still in use is the same one.
+     */
+    private static void closeIfUnused(FileAppender appender, FileAppender inUse1, FileAppender inUse2) {
+        if (appender == null || appender == inUse1 || appender == inUse2) {
+            return;
+        }
+        try {
+            appender.close();
+        } catch (IOException ex) {
+            Logger.DEFAULT_STDERR.println("Failed to close log file - " + ex.toString());
+            Logger.DEFAULT_STDERR.flush();
+        }
+    }
+    private static Level resolveMinimumLevel(String name) throws IOException {
+        if (name == null || name.equals("ALL")) {
+            return(null);
+        }
+        Level level = Level.forName(name);
+        if (level == null) {
+            throw new IOException("unknown minimum level - " + name);
+        }
+        return(level);
+    }
+    private static FileAppender openIfChanged(FileSettings settings, FileSettings previous, FileAppender previousAppender) throws FileNotFoundException {
+        if (settings == null) {
+            return(null);
+        }
+        if (settings.equals(previous) && previousAppender != null) {
+            return(previousAppender);
+        }
+        File parent = settings.file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        FileOutputStream out = new FileOutputStream(settings.file, true);
+        return(settings.compressed ? new CompressedFileAppender(out) : new FileAppender(out));
+    }
+    private static LevelSettings parseLevel(Element element) throws DocumentException {
+        String name = element.attributeValue("name");
+        if (name == null) {
+            throw new DocumentException("<" + XMLTAG_LEVEL + "> has no name");
+        }
+        Integer severity = null;
+        String severityValue = element.attributeValue("severity");
+        if (severityValue != null) {
+            try {
+                severity = Integer.valueOf(severityValue);
+            } catch (NumberFormatException ex) {
+                throw new DocumentException("invalid severity for level " + name + " - " + severityValue);
+            }
+        }
+        Integer stream = null;
+        String streamValue = element.attributeValue("stream");
+        if (streamValue != null) {
+            if (streamValue.equals("stdout")) {
+                stream = Logger.STREAM_STDOUT;
+            } else if (streamValue.equals("stderr")) {
+                stream = Logger.STREAM_STDERR;
+            } else {
+                throw new DocumentException("invalid stream for level " + name + " - " + streamValue);
+            }
+        }
+        ANSI.Color color = null;
+        String colorValue = element.attributeValue("color");
+        if (colorValue != null) {
+            try {
+                color = ANSI.Color.valueOf(colorValue.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException ex) {
+                throw new DocumentException("invalid color for level " + name + " - " + colorValue);
+            }
+        }
+        SimpleAttributeSet documentAttributeSet = null;
+        String documentColorValue = element.attributeValue("documentColor");
+        if (documentColorValue != null) {
+            try {
+                documentAttributeSet = new SimpleAttributeSet();
+                StyleConstants.setForeground(documentAttributeSet, java.awt.Color.decode(documentColorValue));
+            } catch (NumberFormatException ex) {
+                throw new DocumentException("invalid document color for level " + name + " - " + documentColorValue);
+            }
+        }
+        if (Level.forName(name) == null && severity == null) {
+            throw new DocumentException("new level " + name + " needs a severity");
+        }
+        return(new LevelSettings(name, severity, stream, element.attributeValue("prefix"), color, documentAttributeSet));
+    }
+    /**
+     * The settings for one level. {@code null} values leave the level's
+     * current setting unchanged.
+     */
+    public static final class LevelSettings {
+        private final String name;
+        private final Integer severity;
+        private final Integer stream;
+        private final String prefix;
+        private final ANSI.Color consoleColor;
+        private final SimpleAttributeSet documentAttributeSet;
+        private LevelSettings(String name, Integer severity, Integer stream, String prefix, ANSI.Color consoleColor, SimpleAttributeSet documentAttributeSet) {
+            this.name = name;
+            this.severity = severity;
+            this.stream = stream;
+            this.prefix = prefix;
+            this.consoleColor = consoleColor;
+            this.documentAttributeSet = documentAttributeSet;
+        }
+        public String getName() {
+            return(name);
+        }
+        public Integer getSeverity() {
+            return(severity);
+        }
+        public Integer getStream() {
+            return(stream);
+        }
+        public String getPrefix() {
+            return(prefix);
+        }
+        public ANSI.Color getConsoleColor() {
+            return(consoleColor);
+        }
+        private void createIfMissing() {
+            if (Level.forName(name) == null) {
+                new Level(name, severity == null ? Level.SEVERITY_INFO : severity, stream == null ? Logger.STREAM_STDOUT : stream, prefix == null ? "[%T " + name + "]: " : prefix, consoleColor == null ? ANSI.Color.DEFAULT : consoleColor, documentAttributeSet == null ? Level.DOCATTRS_INFO : documentAttributeSet);
+            }
+        }
+        private void apply() {
+            Level level = Level.forName(name);
+            level.configure(severity == null ? level.getSeverity() : severity,
+                    stream == null ? level.getStream() : stream,
+                    prefix == null ? level.getPrefix() : prefix,
+                    consoleColor == null ? level.getConsoleColor() : consoleColor,
+                    documentAttributeSet == null ? level.getDocumentAttributeSet() : documentAttributeSet);
+        }
+    }
+    /**
+     * A log file named by a configuration.
+     */
+    public static final class FileSettings {
+        private final File file;
+        private final boolean compressed;
+        private FileSettings(File file, boolean compressed) {
+            this.file = file;
+            this.compressed = compressed;
+        }
+        public File getFile() {
+            return(file);
+        }
+        public boolean isCompressed() {
+            return(compressed);
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FileSettings)) {
+                return(false);
+            }
+            FileSettings other = (FileSettings)obj;
+            return(file.equals(other.file) && compressed == other.compressed);
+        }
+        @Override
+        public int hashCode() {
+            return(file.hashCode() * 31 + (compressed ? 1 : 0));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import org.dom4j.DocumentException;
+
+/**
+ * Reloads a {@link LoggingConfiguration} file whenever it changes.
+ * <p>
+ * The file's directory is watched with a {@link WatchService} on a daemon
+ * thread. When the file is created or modified the watcher waits for the
+ * burst of events an editor produces to settle, then reads and applies the
+ * file. If the new file cannot be read or applied a warning is logged and
+ * the previous configuration stays in effect.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class LoggingConfigurationWatcher implements Closeable {
+    public static final long DEFAULT_SETTLE_TIME = 250;
+    private final File file;
+    private final long settleTime;
+    private final WatchService watchService;
+    private final Thread watcherThread;
+    private volatile long reloadCount;
+    public LoggingConfigurationWatcher(File file) throws IOException {
+        this(file, DEFAULT_SETTLE_TIME);
+    }
+    /**
+     * Creates a watcher. Call {@link #start()} to apply the file and begin
+     * watching it.
+     * @param file the configuration file
+     * @param settleTimeMillis how long the file must go without further
+     * changes before it is reloaded
+     * @throws IOException if the file's directory cannot be watched
+     */
+    public LoggingConfigurationWatcher(File file, long settleTimeMillis) throws IOException {
+        this.file = file.getAbsoluteFile();
+        this.settleTime = settleTimeMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParentFile().toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watcherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "LoggingConfigurationWatcher");
+        this.watcherThread.setDaemon(true);
+    }
+    public File getFile() {
+        return(file);
+    }
+    /**
+     * Returns the number of times the file has been applied successfully.
+     * @return the number of reloads, including the first load
+     */
+    public long getReloadCount() {
+        return(reloadCount);
+    }
+    /**
+     * Applies the file and starts watching it for changes.
+     * @throws IOException if the file cannot be read or applied
+     * @throws DocumentException if the file is not a valid configuration
+     */
+    public void start() throws IOException, DocumentException {
+        LoggingConfiguration.read(file).apply();
+        reloadCount++;
+        watcherThread.start();
+    }
+    /**
+     * Stops watching the file. The configuration in effect is left as it is.
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+    private void watch() {
+        Path name = file.toPath().getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = pollChanges(key, name);
+                while (true) {
+                    key = watchService.poll(settleTime, TimeUnit.MILLISECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    changed |= pollChanges(key, name);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            return;
+        }
+    }
+    private static boolean pollChanges(WatchKey key, Path name) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return(changed);
+    }
+    private void reload() {
+        if (!file.isFile()) {
+            return;
+        }
+        try {
+            LoggingConfiguration.read(file).apply();
+            reloadCount++;
+            Logger.log(Level.INFO, "Reloaded logging configuration from {}", file);
+        } catch (IOException | DocumentException | RuntimeException ex) {
+            Logger.log(Level.WARNING, "Failed to reload logging configuration from {} - {}", file, ex);
+        }
+    }
+}
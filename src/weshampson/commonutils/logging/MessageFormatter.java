@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.util.Arrays;
+
+/**
+ * Substitutes arguments into {@code {}} placeholders in a message pattern.
+ * <p>
+ * Each {@code {}} in the pattern is replaced by the next argument, in order.
+ * A placeholder preceded by a backslash ({@code \{}}) is written literally,
+ * placeholders without a matching argument are left as they are, and extra
+ * arguments are ignored. Messages are built in a per-thread buffer, so the
+ * only object created per message is the resulting {@code String}.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see Logger#log(Level, String, Object...)
+ */
+public final class MessageFormatter {
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+    private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<Buffer>() {
+        @Override
+        protected Buffer initialValue() {
+            return(new Buffer());
+        }
+    };
+    private MessageFormatter() {
+    }
+    public static String format(String pattern, Object arg) {
+        return(format(pattern, 1, arg, null, null, null));
+    }
+    public static String format(String pattern, Object arg1, Object arg2) {
+        return(format(pattern, 2, arg1, arg2, null, null));
+    }
+    public static String format(String pattern, Object arg1, Object arg2, Object arg3) {
+        return(format(pattern, 3, arg1, arg2, arg3, null));
+    }
+    public static String format(String pattern, Object... args) {
+        int argCount = args == null ? 0 : args.length;
+        return(format(pattern, argCount, null, null, null, args));
+    }
+    /**
+     * Appends a formatted message to a buffer.
+     * @param sb the buffer to append to
+     * @param pattern the message pattern
+     * @param args the arguments to substitute
+     * @return {@code sb}
+     */
+    public static StringBuilder formatTo(StringBuilder sb, String pattern, Object... args) {
+        int argCount = args == null ? 0 : args.length;
+        return(formatTo(sb, pattern, argCount, null, null, null, args));
+    }
+    private static String format(String pattern, int argCount, Object arg1, Object arg2, Object arg3, Object[] args) {
+        if (pattern == null) {
+            return(null);
+        }
+        Buffer buffer = BUFFER.get();
+        if (buffer.inUse) {
+            // An argument's toString() is itself formatting a message.
+            return(formatTo(new StringBuilder(), pattern, argCount, arg1, arg2, arg3, args).toString());
+        }
+        buffer.inUse = true;
+        try {
+            StringBuilder sb = buffer.sb;
+            sb.setLength(0);
+            String message = formatTo(sb, pattern, argCount, arg1, arg2, arg3, args).toString();
+            if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+                buffer.sb = new StringBuilder(256);
+            }
+            return(message);
+        } finally {
+            buffer.inUse = false;
+        }
+    }
+    private static StringBuilder formatTo(StringBuilder sb, String pattern, int argCount, Object arg1, Object arg2, Object arg3, Object[] args) {
+        int length = pattern.length();
+        int start = 0;
+        int argIndex = 0;
+        while (start < length) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder == -1 || argIndex >= argCount) {
+                break;
+            }
+            if (placeholder > 0 && pattern.charAt(placeholder - 1) == '\\') {
+                sb.append(pattern, start, placeholder - 1).append("{}");
+                start = placeholder + 2;
+                continue;
+            }
+            sb.append(pattern, start, placeholder);
+            Object arg;
+            if (args != null) {
+                arg = args[argIndex];
+            } else if (argIndex == 0) {
+                arg = arg1;
+            } else if (argIndex == 1) {
+                arg = arg2;
+            } else {
+                arg = arg3;
+            }
+            appendArgument(sb, arg);
+            argIndex++;
+            start = placeholder + 2;
+        }
+        return(sb.append(pattern, start, length));
+    }
+    static void appendArgument(StringBuilder sb, Object arg) {
+        if (arg instanceof String) {
+            sb.append((String)arg);
+        } else if (arg instanceof Object[]) {
+            sb.append(Arrays.deepToString((Object[])arg));
+        } else if (arg instanceof int[]) {
+            sb.append(Arrays.toString((int[])arg));
+        } else if (arg instanceof long[]) {
+            sb.append(Arrays.toString((long[])arg));
+        } else if (arg instanceof byte[]) {
+            sb.append(Arrays.toString((byte[])arg));
+        } else if (arg instanceof char[]) {
+            sb.append(Arrays.toString((char[])arg));
+        } else {
+            sb.append(arg);
+        }
+    }
+    private static final class Buffer {
+        private StringBuilder sb = new StringBuilder(256);
+        private boolean inUse;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package weshampson.commonutils.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Level} prefix that has been parsed once into a list of literal
+ * and dynamic tokens.
+ * <p>
+ * Rendering a template appends each token to a caller-supplied
+ * {@link StringBuilder}, so a prefix such as {@code [%T INFO]: } costs one
+ * timestamp lookup and two literal copies per message instead of a series of
+ * regular expression replacements.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see Level#setPrefix(String)
+ */
+public final class PrefixTemplate {
+    private final String source;
+    private final Token[] tokens;
+    private final String constantText;
+    private final byte[] constantBytes;
+    private PrefixTemplate(String source, Token[] tokens) {
+        this.source = source;
+        this.tokens = tokens;
+        if (tokens.length == 0) {
+            this.constantText = "";
+        } else if (tokens.length == 1 && tokens[0] instanceof LiteralToken) {
+            this.constantText = ((LiteralToken)tokens[0]).text;
+        } else {
+            this.constantText = null;
+        }
+        this.constantBytes = constantText == null ? null : constantText.getBytes(StandardCharsets.UTF_8);
+    }
+    /**
+     * Parses a prefix string into a template. See
+     * {@link Level#setPrefix(String)} for the supported character sequences;
+     * a {@code %} that does not start one of them is kept as literal text.
+     * @param prefix the prefix to parse
+     * @return the compiled template
+     */
+    public static PrefixTemplate compile(String prefix) {
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = prefix.length();
+        int i = 0;
+        while (i < length) {
+            char c = prefix.charAt(i);
+            if (c != '%' || i + 1 >= length) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            Token token = null;
+            int next = i + 2;
+            switch (prefix.charAt(i + 1)) {
+                case 'd':
+                    token = new TimestampToken("MM-dd-YYYY");
+                    break;
+                case 'D':
+                    token = new TimestampToken("dd-MMM-YYYY");
+                    break;
+                case 's':
+                    token = new TextToken();
+                    break;
+                case 't':
+                    token = new TimestampToken(Timestamp.TWELVE_HOUR_FORMAT);
+                    break;
+                case 'T':
+                    token = new TimestampToken(Timestamp.TWENTYFOUR_HOUR_FORMAT);
+                    break;
+                case '{':
+                    int end = prefix.indexOf("}dt", i + 2);
+                    if (end != -1) {
+                        token = new TimestampToken(prefix.substring(i + 2, end));
+                        next = end + 3;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (token == null) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (literal.length() > 0) {
+                tokens.add(new LiteralToken(literal.toString()));
+                literal.setLength(0);
+            }
+            tokens.add(token);
+            i = next;
+        }
+        if (literal.length() > 0) {
+            tokens.add(new LiteralToken(literal.toString()));
+        }
+        return(new PrefixTemplate(prefix, tokens.toArray(new Token[tokens.size()])));
+    }
+    public String getSource() {
+        return(source);
+    }
+    /**
+     * Returns whether this template renders to the same text every time.
+     * @return {@code true} if the template contains no dynamic tokens
+     */
+    public boolean isConstant() {
+        return(constantText != null);
+    }
+    /**
+     * Returns the UTF-8 encoding of a constant template's text, encoded once
+     * when the template was compiled. The array must not be modified.
+     * @return the encoded text, or {@code null} if the template is not
+     * constant
+     */
+    byte[] getConstantBytes() {
+        return(constantBytes);
+    }
+    /**
+     * Appends the rendered prefix to a buffer.
+     * @param text the text substituted for {@code %s}
+     * @param sb the buffer to append to
+     * @return {@code sb}
+     */
+    public StringBuilder render(String text, StringBuilder sb) {
+        if (constantText != null) {
+            return(sb.append(constantText));
+        }
+        return(render(text, System.currentTimeMillis(), sb));
+    }
+    /**
+     * Appends the prefix as it would have been rendered at a given time.
+     * @param text the text substituted for {@code %s}
+     * @param timeMillis the time used for timestamp tokens
+     * @param sb the buffer to append to
+     * @return {@code sb}
+     */
+    public StringBuilder render(String text, long timeMillis, StringBuilder sb) {
+        for (Token token : tokens) {
+            token.append(text, timeMillis, sb);
+        }
+        return(sb);
+    }
+    public String render(String text) {
+        if (constantText != null) {
+            return(constantText);
+        }
+        return(render(text, new StringBuilder(source.length() + 16)).toString());
+    }
+    @Override
+    public String toString() {
+        return(source);
+    }
+    private static abstract class Token {
+        abstract void append(String text, long timeMillis, StringBuilder sb);
+    }
+    private static final class LiteralToken extends Token {
+        private final String text;
+        private LiteralToken(String text) {
+            this.text = text;
+        }
+        @Override
+        void append(String text, long timeMillis, StringBuilder sb) {
+            sb.append(this.text);
+        }
+    }
+    private static final class TextToken extends Token {
+        @Override
+        void append(String text, long timeMillis, StringBuilder sb) {
+            sb.append(text);
+        }
+    }
+    private static final class TimestampToken extends Token {
+        private final Timestamp timestamp;
+        private TimestampToken(String format) {
+            this.timestamp = new Timestamp(format);
+        }
+        @Override
+        void append(String text, long timeMillis, StringBuilder sb) {
+            sb.append(timestamp.getTimestamp(timeMillis));
+        }
+    }
+}
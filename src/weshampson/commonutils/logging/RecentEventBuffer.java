@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the most recent log events in memory so that they can be looked up
+ * by level, time range or text without rescanning the console or a file.
+ * <p>
+ * Register the buffer with {@link Logger#addAppender(Appender)} and every
+ * event is captured as it is printed. The buffer holds a fixed number of
+ * events in a ring; once it is full each new event replaces the oldest.
+ * Two indexes are kept alongside the ring:
+ * <ul>
+ * <li>each entry links back to the previous entry of the same level, so a
+ * level query only visits events of that level</li>
+ * <li>each entry records the latest time seen so far, which never
+ * decreases, so the entries inside a time range are found by binary
+ * search</li>
+ * </ul>
+ * Appending takes the write lock for a constant amount of work; queries
+ * share the read lock and copy out the matching {@link LogEvent}s, which
+ * are immutable.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class RecentEventBuffer implements Appender {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final long NONE = -1;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LogEvent[] events;
+    private final long[] previousOfLevel;
+    private final long[] highWaterTimes;
+    private final int mask;
+    private final Map<Level, long[]> lastOfLevel = new IdentityHashMap<>();
+    private final SinkMetrics metrics;
+    private long nextSequence;
+    private long firstSequence;
+    private long highWaterTime = Long.MIN_VALUE;
+    public RecentEventBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+    /**
+     * Creates a new buffer.
+     * @param capacity the number of events kept; rounded up to the next power
+     * of two
+     */
+    public RecentEventBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive - " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.events = new LogEvent[size];
+        this.previousOfLevel = new long[size];
+        this.highWaterTimes = new long[size];
+        this.mask = size - 1;
+        this.metrics = LogMetrics.createSinkMetrics(getClass().getSimpleName());
+    }
+    public int getCapacity() {
+        return(events.length);
+    }
+    public SinkMetrics getMetrics() {
+        return(metrics);
+    }
+    /**
+     * Returns the number of events currently held.
+     * @return the number of events, at most {@link #getCapacity()}
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return((int)(nextSequence - firstSequence));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    /**
+     * Returns the sequence number the next event will be given. Every event
+     * appended gets the next number, starting at {@code 0}, so a caller that
+     * remembers this value can later fetch only the newer events with
+     * {@link #getEventsSince(long)}.
+     * @return the next sequence number
+     */
+    public long getNextSequence() {
+        lock.readLock().lock();
+        try {
+            return(nextSequence);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    @Override
+    public void append(LogEvent event) {
+        lock.writeLock().lock();
+        try {
+            long sequence = nextSequence++;
+            if (sequence - firstSequence == events.length) {
+                firstSequence++;
+            }
+            int index = (int)sequence & mask;
+            long[] last = lastOfLevel.get(event.getLevel());
+            if (last == null) {
+                last = new long[] {NONE};
+                lastOfLevel.put(event.getLevel(), last);
+            }
+            highWaterTime = Math.max(highWaterTime, event.getTimeMillis());
+            events[index] = event;
+            previousOfLevel[index] = last[0];
+            highWaterTimes[index] = highWaterTime;
+            last[0] = sequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        metrics.recordEvent();
+    }
+    /**
+     * Returns every event held, oldest first.
+     * @return the events
+     */
+    public List<LogEvent> getEvents() {
+        return(query(null, Long.MIN_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE));
+    }
+    /**
+     * Returns the events held at a level, oldest first.
+     * @param level the level to match
+     * @return the events
+     */
+    public List<LogEvent> getEvents(Level level) {
+        return(query(level, Long.MIN_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE));
+    }
+    /**
+     * Returns the events logged within a time range, oldest first.
+     * @param fromMillis the earliest time to include
+     * @param toMillis the time to stop at (exclusive)
+     * @return the events
+     */
+    public List<LogEvent> getEvents(long fromMillis, long toMillis) {
+        return(query(null, fromMillis, toMillis, null, Integer.MAX_VALUE));
+    }
+    /**
+     * Returns the events appended at or after a sequence number, oldest
+     * first. Events that have already been overwritten are skipped.
+     * @param sequence a value previously returned by
+     * {@link #getNextSequence()}
+     * @return the events
+     */
+    public List<LogEvent> getEventsSince(long sequence) {
+        lock.readLock().lock();
+        try {
+            long start = Math.max(sequence, firstSequence);
+            List<LogEvent> result = new ArrayList<>((int)Math.max(0, nextSequence - start));
+            for (long s = start; s < nextSequence; s++) {
+                result.add(events[(int)s & mask]);
+            }
+            return(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    /**
+     * Returns the newest events that match every given condition, oldest
+     * first.
+     * @param level the level to match, or {@code null} for any level
+     * @param fromMillis the earliest time to include
+     * @param toMillis the time to stop at (exclusive)
+     * @param text text the message must contain, or {@code null} to match
+     * any message
+     * @param limit the maximum number of events to return
+     * @return the matching events
+     */
+    public List<LogEvent> query(Level level, long fromMillis, long toMillis, String text, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative - " + limit);
+        }
+        List<LogEvent> result = new ArrayList<>();
+        if (limit == 0 || fromMillis >= toMillis) {
+            return(result);
+        }
+        lock.readLock().lock();
+        try {
+            long sequence;
+            if (level != null) {
+                long[] last = lastOfLevel.get(level);
+                sequence = last == null ? NONE : last[0];
+            } else {
+                sequence = findLastBefore(toMillis);
+            }
+            while (sequence >= firstSequence && result.size() < limit) {
+                int index = (int)sequence & mask;
+                if (highWaterTimes[index] < fromMillis) {
+                    break;
+                }
+                LogEvent event = events[index];
+                long time = event.getTimeMillis();
+                if (time >= fromMillis && time < toMillis && (text == null || event.getMessage().contains(text))) {
+                    result.add(event);
+                }
+                sequence = level != null ? previousOfLevel[index] : sequence - 1;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.reverse(result);
+        return(result);
+    }
+    /**
+     * Discards every event held. Sequence numbers keep counting up.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (long s = firstSequence; s < nextSequence; s++) {
+                events[(int)s & mask] = null;
+            }
+            firstSequence = nextSequence;
+            lastOfLevel.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    @Override
+    public void flush() throws IOException {
+    }
+    /**
+     * Stops publishing this buffer's metrics. The events stay available.
+     */
+    @Override
+    public void close() throws IOException {
+        metrics.close();
+    }
+    /**
+     * Finds the newest entry whose high-water time is before a given time.
+     * Must be called with the read lock held.
+     * @param toMillis the time to search for
+     * @return the entry's sequence number, or a number below
+     * {@link #firstSequence} if there is none
+     */
+    private long findLastBefore(long toMillis) {
+        long low = firstSequence;
+        long high = nextSequence - 1;
+        long found = firstSequence - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            if (highWaterTimes[(int)middle & mask] < toMillis) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return(found);
+    }
+}
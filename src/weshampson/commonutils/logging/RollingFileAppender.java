@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package weshampson.commonutils.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@link FileAppender} that starts a new file once the current one reaches
+ * a maximum size or a time boundary passes.
+ * <p>
+ * When the log file rolls over it is renamed to
+ * {@code <name>.<yyyyMMdd-HHmmss>} and a new, empty file is opened in its
+ * place. Rotated segments are gzipped and the retention limits are enforced
+ * on a background thread, so the thread that triggered the rotation only pays
+ * for a rename and an open.
+ * <p>
+ * If a rotation fails, the appender reopens the active file and keeps
+ * writing to it, reports the failure on standard error and tries again a
+ * minute later. A batch is never lost because of a failed rotation.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class RollingFileAppender extends FileAppender {
+    public static final String COMPRESSED_SUFFIX = ".gz";
+    private static final String SEGMENT_TIMESTAMP_FORMAT = "yyyyMMdd-HHmmss";
+    private static final long ROLL_RETRY_DELAY = 60 * 1000;
+    private final File file;
+    private final long maxFileSize;
+    private final long rotationInterval;
+    private final int maxBackups;
+    private final long maxTotalSize;
+    private final boolean compress;
+    private long currentSize;
+    private long nextRotationTime;
+    private long nextRollAttempt;
+    private boolean streamClosed;
+    /**
+     * Creates a new appender that compresses rotated files and uses the
+     * default buffer settings.
+     * @param file the active log file
+     * @param maxFileSize the size in bytes at which the file is rotated, or
+     * {@code 0} for no limit
+     * @param rotationIntervalMillis the length of each time period, or
+     * {@code 0} to only rotate on size
+     * @param maxBackups the number of rotated files to keep, or {@code 0} to
+     * keep them all
+     * @throws FileNotFoundException if the log file cannot be opened
+     */
+    public RollingFileAppender(File file, long maxFileSize, long rotationIntervalMillis, int maxBackups) throws FileNotFoundException {
+        this(file, maxFileSize, rotationIntervalMillis, maxBackups, 0, true, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL, Durability.NONE);
+    }
+    /**
+     * Creates a new appender.
+     * @param file the active log file
+     * @param maxFileSize the size in bytes at which the file is rotated, or
+     * {@code 0} for no limit
+     * @param rotationIntervalMillis the length of each time period, or
+     * {@code 0} to only rotate on size. Periods are aligned to local
+     * midnight, so an interval of one day rotates at midnight and an interval
+     * of one hour rotates on the hour.
+     * @param maxBackups the number of rotated files to keep, or {@code 0} to
+     * keep them all
+     * @param maxTotalSize the total size in bytes that rotated files may
+     * use, or {@code 0} for no limit
+     * @param compress whether rotated files are gzipped
+     * @param bufferSize the number of bytes buffered before a batch is
+     * written
+     * @param flushIntervalMillis the maximum time buffered text may wait
+     * before being written
+     * @param durability when written data is forced to the storage device
+     * @throws FileNotFoundException if the log file cannot be opened
+     */
+    public RollingFileAppender(File file, long maxFileSize, long rotationIntervalMillis, int maxBackups, long maxTotalSize, boolean compress, int bufferSize, long flushIntervalMillis, Durability durability) throws FileNotFoundException {
+        super(openStream(file), bufferSize, flushIntervalMillis, durability);
+        this.file = file.getAbsoluteFile();
+        this.maxFileSize = maxFileSize;
+        this.rotationInterval = rotationIntervalMillis;
+        this.maxBackups = maxBackups;
+        this.maxTotalSize = maxTotalSize;
+        this.compress = compress;
+        this.currentSize = file.length();
+        this.nextRotationTime = computeNextRotationTime(System.currentTimeMillis());
+        scheduleHousekeeping(null);
+    }
+    public File getFile() {
+        return(file);
+    }
+    public long getMaxFileSize() {
+        return(maxFileSize);
+    }
+    public long getRotationInterval() {
+        return(rotationInterval);
+    }
+    public int getMaxBackups() {
+        return(maxBackups);
+    }
+    public long getMaxTotalSize() {
+        return(maxTotalSize);
+    }
+    public boolean isCompressionEnabled() {
+        return(compress);
+    }
+    /**
+     * Rotates the log file immediately, regardless of its size or age.
+     * @throws IOException if the file cannot be rotated
+     */
+    public void rotate() throws IOException {
+        lock.lock();
+        try {
+            commit();
+            roll(System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Rotates the file if it is due. A failed rotation is reported and the
+     * batch is written to the active file instead; only a failure to reopen
+     * the active file is thrown, in which case the batch stays buffered and
+     * the file is reopened before the next attempt.
+     */
+    @Override
+    protected void beforeCommit(int batchSize) throws IOException {
+        if (streamClosed) {
+            reopen();
+        }
+        long now = System.currentTimeMillis();
+        boolean sizeExceeded = maxFileSize > 0 && currentSize > 0 && currentSize + batchSize > maxFileSize;
+        boolean periodEnded = rotationInterval > 0 && now >= nextRotationTime;
+        if ((sizeExceeded || periodEnded) && now >= nextRollAttempt) {
+            try {
+                roll(now);
+            } catch (IOException ex) {
+                if (streamClosed) {
+                    throw ex;
+                }
+                nextRollAttempt = now + ROLL_RETRY_DELAY;
+                Logger.DEFAULT_STDERR.println("Log file rotation failed for " + file + " - " + ex.toString());
+                Logger.DEFAULT_STDERR.flush();
+            }
+        }
+        currentSize += batchSize;
+    }
+    /**
+     * Renames the active file and opens a new one in its place. The active
+     * file is reopened whether or not the rename succeeds; if that fails
+     * too, {@link #streamClosed} is left set.
+     */
+    private void roll(long now) throws IOException {
+        File segment = new File(file.getPath() + "." + TimestampFormat.forPattern(SEGMENT_TIMESTAMP_FORMAT).format(now));
+        for (int i = 1; segment.exists() || new File(segment.getPath() + COMPRESSED_SUFFIX).exists(); i++) {
+            segment = new File(file.getPath() + "." + TimestampFormat.forPattern(SEGMENT_TIMESTAMP_FORMAT).format(now) + "-" + i);
+        }
+        boolean renamed = false;
+        try {
+            getOutputStream().close();
+            renamed = file.renameTo(segment);
+        } finally {
+            streamClosed = true;
+            reopen();
+        }
+        if (!renamed) {
+            throw new IOException("failed to rotate log file - " + file);
+        }
+        nextRotationTime = computeNextRotationTime(now);
+        nextRollAttempt = 0;
+        scheduleHousekeeping(segment);
+    }
+    private void reopen() throws FileNotFoundException {
+        setOutputStream(openStream(file));
+        streamClosed = false;
+        currentSize = file.length();
+    }
+    private long computeNextRotationTime(long now) {
+        if (rotationInterval <= 0) {
+            return(Long.MAX_VALUE);
+        }
+        long offset = TimeZone.getDefault().getOffset(now);
+        long localTime = now + offset;
+        return(localTime - (localTime % rotationInterval) + rotationInterval - offset);
+    }
+    private void scheduleHousekeeping(final File segment) {
+        getHousekeepingExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (compress) {
+                        if (segment != null) {
+                            compress(segment);
+                        } else {
+                            for (File s : listSegments()) {
+                                if (!s.getName().endsWith(COMPRESSED_SUFFIX)) {
+                                    compress(s);
+                                }
+                            }
+                        }
+                    }
+                    enforceRetention();
+                } catch (IOException ex) {
+                    Logger.DEFAULT_STDERR.println("Log file housekeeping failed for " + file + " - " + ex.toString());
+                    Logger.DEFAULT_STDERR.flush();
+                }
+            }
+        });
+    }
+    private List<File> listSegments() {
+        File directory = file.getParentFile();
+        File[] files = directory.listFiles();
+        List<File> segments = new ArrayList<>();
+        if (files == null) {
+            return(segments);
+        }
+        for (File f : files) {
+            if (f.isFile() && getSegmentIndex(f) != null) {
+                segments.add(f);
+            }
+        }
+        return(segments);
+    }
+    /**
+     * Parses the rotation time and collision counter out of a rotated
+     * segment's name.
+     * @param segment the file to check
+     * @return {@code {timestamp, counter}}, or {@code null} if the file is not
+     * a rotated segment of this log
+     */
+    private long[] getSegmentIndex(File segment) {
+        String name = segment.getName();
+        String segmentPrefix = file.getName() + ".";
+        if (!name.startsWith(segmentPrefix)) {
+            return(null);
+        }
+        String index = name.substring(segmentPrefix.length());
+        if (index.endsWith(COMPRESSED_SUFFIX)) {
+            index = index.substring(0, index.length() - COMPRESSED_SUFFIX.length());
+        }
+        int timestampLength = SEGMENT_TIMESTAMP_FORMAT.length();
+        if (index.length() < timestampLength || index.charAt(8) != '-') {
+            return(null);
+        }
+        try {
+            long timestamp = Long.parseLong(index.substring(0, 8) + index.substring(9, timestampLength));
+            long counter = 0;
+            if (index.length() > timestampLength) {
+                if (index.charAt(timestampLength) != '-') {
+                    return(null);
+                }
+                counter = Long.parseLong(index.substring(timestampLength + 1));
+            }
+            return(new long[] {timestamp, counter});
+        } catch (NumberFormatException ex) {
+            return(null);
+        }
+    }
+    private void enforceRetention() {
+        if (maxBackups <= 0 && maxTotalSize <= 0) {
+            return;
+        }
+        File[] segments = listSegments().toArray(new File[0]);
+        Arrays.sort(segments, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                long[] i1 = getSegmentIndex(f1);
+                long[] i2 = getSegmentIndex(f2);
+                if (i1[0] != i2[0]) {
+                    return(i1[0] > i2[0] ? -1 : 1);
+                }
+                return(i1[1] > i2[1] ? -1 : (i1[1] == i2[1] ? 0 : 1));
+            }
+        });
+        long totalSize = 0;
+        for (int i = 0; i < segments.length; i++) {
+            totalSize += segments[i].length();
+            boolean tooMany = maxBackups > 0 && i >= maxBackups;
+            boolean tooLarge = maxTotalSize > 0 && totalSize > maxTotalSize;
+            if (tooMany || tooLarge) {
+                segments[i].delete();
+            }
+        }
+    }
+    private static void compress(File segment) throws IOException {
+        File compressed = new File(segment.getPath() + COMPRESSED_SUFFIX);
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(segment);
+                OutputStream out = new GZIPOutputStream(new FileOutputStream(compressed), buffer.length)) {
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                out.write(buffer, 0, bytesRead);
+            }
+        }
+        compressed.setLastModified(segment.lastModified());
+        if (!segment.delete()) {
+            throw new IOException("failed to delete compressed log segment - " + segment);
+        }
+    }
+    private static FileOutputStream openStream(File file) throws FileNotFoundException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return(new FileOutputStream(file, true));
+    }
+    private static ExecutorService getHousekeepingExecutor() {
+        return(HousekeepingExecutorHolder.HOUSEKEEPING_EXECUTOR);
+    }
+    private static final class HousekeepingExecutorHolder {
+        private static final ExecutorService HOUSEKEEPING_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RollingFileAppender-housekeeping");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return(t);
+            }
+        });
+    }
+}
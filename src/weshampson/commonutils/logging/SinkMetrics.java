@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+/**
+ * Counts what one {@link Appender} has done: the events it accepted, the
+ * bytes it wrote (characters, for document sinks), the events it dropped and
+ * the number of times it flushed or wrote a batch.
+ * <p>
+ * Each instance is published as a platform MBean while its appender is
+ * open.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see LogMetrics#getSinkMetrics()
+ */
+public final class SinkMetrics implements SinkMetricsMBean {
+    private final String name;
+    private final StripedCounter events = new StripedCounter();
+    private final StripedCounter bytes = new StripedCounter();
+    private final StripedCounter drops = new StripedCounter();
+    private final StripedCounter flushes = new StripedCounter();
+    SinkMetrics(String name) {
+        this.name = name;
+    }
+    @Override
+    public String getName() {
+        return(name);
+    }
+    @Override
+    public long getEventCount() {
+        return(events.sum());
+    }
+    @Override
+    public long getByteCount() {
+        return(bytes.sum());
+    }
+    @Override
+    public long getDropCount() {
+        return(drops.sum());
+    }
+    @Override
+    public long getFlushCount() {
+        return(flushes.sum());
+    }
+    void recordEvent() {
+        events.increment();
+    }
+    void recordBytes(long count) {
+        bytes.add(count);
+    }
+    void recordDrop() {
+        drops.increment();
+    }
+    void recordFlush() {
+        flushes.increment();
+    }
+    /**
+     * Stops publishing these metrics. They can still be read in-process.
+     */
+    void close() {
+        LogMetrics.unregister(this);
+    }
+}
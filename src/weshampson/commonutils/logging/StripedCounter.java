@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter spread over several cells so that threads updating it at the
+ * same time rarely touch the same cache line. Each thread always adds to the
+ * same cell; reading the counter sums every cell.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+final class StripedCounter {
+    /** The number of {@code long}s in a 64-byte cache line. */
+    static final int PADDING = 8;
+    static final int STRIPES = stripeCount();
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+    void add(long value) {
+        cells.getAndAdd(stripe() * PADDING, value);
+    }
+    void increment() {
+        add(1);
+    }
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return(sum);
+    }
+    /**
+     * Returns the calling thread's stripe, between {@code 0} and
+     * {@link #STRIPES}{@code - 1}.
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        return((int)((id * 0x9E3779B97F4A7C15L) >>> 40) & (STRIPES - 1));
+    }
+    private static int stripeCount() {
+        int target = Math.min(Runtime.getRuntime().availableProcessors() * 2, 64);
+        int stripes = Integer.highestOneBit(target);
+        return(stripes < target ? stripes << 1 : stripes);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link LogFilter} that protects the logger from log storms.
+ * <p>
+ * Repeated messages are detected with a small, fixed-size hash table of
+ * recently seen messages that is read and updated with compare-and-set
+ * only. Each slot keeps the message's hash and a reference to the full
+ * message text, and a repeat is only recognized when the text is
+ * {@link String#equals(Object) equal}, so the table holds on to up to
+ * {@code tableSize} recent messages. The first occurrence of a message at a
+ * level is logged; identical messages at the same level within the
+ * duplicate window are discarded and counted, and once the window has
+ * passed a single {@code "Suppressed N duplicates of: ..."} summary is
+ * logged in their place. Messages that hash to the same slot simply evict
+ * each other, so a storm of distinct messages is never wrongly suppressed.
+ * <p>
+ * Each level may also be given a token-bucket rate limit with
+ * {@link #setRateLimit(Level, double, int)}. Messages over the limit are
+ * discarded and reported in a periodic summary.
+ * <p>
+ * Summaries are written by a timer on a daemon thread shared by all
+ * throttling filters. It is separate from the file appenders' flush timer,
+ * since writing a summary may wait for an appender. Call {@link #close()}
+ * to stop the timer when the filter is no longer used.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class ThrottlingFilter implements LogFilter {
+    public static final long DEFAULT_DUPLICATE_WINDOW = 1000;
+    public static final int DEFAULT_TABLE_SIZE = 256;
+    private final long duplicateWindow;
+    private final AtomicReferenceArray<Entry> recentMessages;
+    private final int mask;
+    private final Map<Level, TokenBucket> rateLimits = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> sweepTask;
+    public ThrottlingFilter() {
+        this(DEFAULT_DUPLICATE_WINDOW, DEFAULT_TABLE_SIZE);
+    }
+    /**
+     * Creates a new filter.
+     * @param duplicateWindowMillis how long identical messages are
+     * suppressed after the first one is logged, or {@code 0} to only apply
+     * rate limits
+     * @param tableSize the number of recent messages tracked; rounded up to
+     * the next power of two
+     */
+    public ThrottlingFilter(long duplicateWindowMillis, int tableSize) {
+        if (tableSize < 1) {
+            throw new IllegalArgumentException("table size must be positive - " + tableSize);
+        }
+        int capacity = Integer.highestOneBit(tableSize);
+        if (capacity < tableSize) {
+            capacity <<= 1;
+        }
+        this.duplicateWindow = duplicateWindowMillis;
+        this.recentMessages = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        long sweepInterval = duplicateWindowMillis > 0 ? duplicateWindowMillis : DEFAULT_DUPLICATE_WINDOW;
+        this.sweepTask = SweepSchedulerHolder.SWEEP_SCHEDULER.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sweep(System.currentTimeMillis(), false);
+            }
+        }, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+    public long getDuplicateWindow() {
+        return(duplicateWindow);
+    }
+    /**
+     * Limits how many messages per second are logged at a level.
+     * @param level the level to limit
+     * @param messagesPerSecond the sustained rate
+     * @param burst the number of messages that may be logged back to back
+     * before the rate applies
+     */
+    public void setRateLimit(Level level, double messagesPerSecond, int burst) {
+        if (messagesPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("invalid rate limit - " + messagesPerSecond + "/s, burst " + burst);
+        }
+        rateLimits.put(level, new TokenBucket(messagesPerSecond, burst));
+    }
+    public void removeRateLimit(Level level) {
+        TokenBucket bucket = rateLimits.remove(level);
+        if (bucket != null) {
+            reportDropped(level, bucket);
+        }
+    }
+    @Override
+    public boolean isLoggable(Level level, String message) {
+        if (duplicateWindow > 0 && message != null && isDuplicate(level, message)) {
+            return(false);
+        }
+        TokenBucket bucket = rateLimits.get(level);
+        return(bucket == null || bucket.tryAcquire());
+    }
+    /**
+     * Logs any pending summaries and stops the summary timer.
+     */
+    public void close() {
+        sweepTask.cancel(false);
+        sweep(System.currentTimeMillis(), true);
+    }
+    private boolean isDuplicate(Level level, String message) {
+        int hash = message.hashCode() * 31 + System.identityHashCode(level);
+        int index = (hash ^ (hash >>> 16)) & mask;
+        long now = System.currentTimeMillis();
+        Entry entry = recentMessages.get(index);
+        if (entry != null && entry.hash == hash && entry.level == level && entry.message.equals(message)) {
+            if (now - entry.windowStart < duplicateWindow) {
+                entry.suppressed.incrementAndGet();
+                return(true);
+            }
+        }
+        // New message, a collision, or a window that has ended: start a new
+        // window. Only the thread that wins the swap reports the old one.
+        if (recentMessages.compareAndSet(index, entry, new Entry(hash, level, message, now))) {
+            reportSuppressed(entry);
+        }
+        return(false);
+    }
+    /**
+     * Reports the duplicates suppressed in every window that has ended and
+     * the messages discarded by each rate limit.
+     * @param now the current time
+     * @param all whether to report and forget every window, ended or not;
+     * used when the filter is closed
+     */
+    private void sweep(long now, boolean all) {
+        for (int i = 0; i < recentMessages.length(); i++) {
+            Entry entry = recentMessages.get(i);
+            if (entry == null) {
+                continue;
+            }
+            if (!all && (entry.suppressed.get() == 0 || now - entry.windowStart < duplicateWindow)) {
+                continue;
+            }
+            if (recentMessages.compareAndSet(i, entry, null)) {
+                reportSuppressed(entry);
+            }
+        }
+        for (Map.Entry<Level, TokenBucket> rateLimit : rateLimits.entrySet()) {
+            reportDropped(rateLimit.getKey(), rateLimit.getValue());
+        }
+    }
+    private static void reportSuppressed(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        int suppressed = entry.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            Logger.logUnfiltered(entry.level, "Suppressed " + suppressed + (suppressed == 1 ? " duplicate" : " duplicates") + " of: " + entry.message);
+        }
+    }
+    private static void reportDropped(Level level, TokenBucket bucket) {
+        long dropped = bucket.dropped.getAndSet(0);
+        if (dropped > 0) {
+            Logger.logUnfiltered(level, "Rate limit discarded " + dropped + (dropped == 1 ? " message" : " messages"));
+        }
+    }
+    private static final class SweepSchedulerHolder {
+        private static final ScheduledExecutorService SWEEP_SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "ThrottlingFilter-sweep");
+                t.setDaemon(true);
+                return(t);
+            }
+        });
+    }
+    private static final class Entry {
+        private final int hash;
+        private final Level level;
+        private final String message;
+        private final long windowStart;
+        private final AtomicInteger suppressed = new AtomicInteger();
+        private Entry(int hash, Level level, String message, long windowStart) {
+            this.hash = hash;
+            this.level = level;
+            this.message = message;
+            this.windowStart = windowStart;
+        }
+    }
+    /**
+     * A token bucket kept as a single theoretical arrival time, so that
+     * taking a token is one compare-and-set.
+     */
+    private static final class TokenBucket {
+        private final long interval;
+        private final long tolerance;
+        private final AtomicLong nextArrival = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong dropped = new AtomicLong();
+        private TokenBucket(double messagesPerSecond, int burst) {
+            this.interval = Math.max(1, (long)(TimeUnit.SECONDS.toNanos(1) / messagesPerSecond));
+            this.tolerance = interval * burst;
+        }
+        private boolean tryAcquire() {
+            long now = System.nanoTime();
+            while (true) {
+                long arrival = nextArrival.get();
+                long next = (arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival) + interval;
+                if (next - now > tolerance) {
+                    dropped.incrementAndGet();
+                    return(false);
+                }
+                if (nextArrival.compareAndSet(arrival, next)) {
+                    return(true);
+                }
+            }
+        }
+    }
+}
@@ -19,23 +19,34 @@
 
 package weshampson.commonutils.logging;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
 /**
- *
+ * Formats the current time with a fixed pattern.
+ * <p>
+ * Formatting is delegated to the shared, caching {@link TimestampFormat} for
+ * the pattern, so repeated calls within the same second do not create any
+ * new objects.
  * @author  Wes Hampson
- * @version 0.1.0 (Aug 25, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.1.0 (Aug 25, 2014)
  */
 public class Timestamp {
     public static final String TWELVE_HOUR_FORMAT = "hh:mm:ss a";
     public static final String TWENTYFOUR_HOUR_FORMAT = "HH:mm:ss";
     private final String format;
+    private TimestampFormat timestampFormat;
     public Timestamp(String format) {
         this.format = format;
     }
+    public String getFormat() {
+        return(format);
+    }
     public String getTimestamp() {
-        return(new SimpleDateFormat(format).format(new Date()));
+        return(getTimestamp(System.currentTimeMillis()));
+    }
+    public String getTimestamp(long timeMillis) {
+        if (timestampFormat == null) {
+            timestampFormat = TimestampFormat.forPattern(format);
+        }
+        return(timestampFormat.format(timeMillis));
     }
 }
\ No newline at end of file
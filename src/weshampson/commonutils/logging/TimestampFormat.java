@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package weshampson.commonutils.logging;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe, caching date/time formatter shared by every user of the
+ * same pattern.
+ * <p>
+ * The most recently formatted text is cached along with the second (or
+ * millisecond, if the pattern contains {@code S}) it was rendered for. Calls
+ * that fall within the same unit return the cached {@code String} without
+ * touching the underlying {@link SimpleDateFormat}; the text is only
+ * re-rendered once the clock moves past the cached unit.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ * @see Timestamp
+ */
+public final class TimestampFormat {
+    private static final ConcurrentMap<String, TimestampFormat> REGISTRY = new ConcurrentHashMap<>();
+    private final String pattern;
+    private final long resolution;
+    private final SimpleDateFormat dateFormat;
+    private final Date date = new Date();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile CachedText cache = new CachedText(Long.MIN_VALUE, null);
+    private TimestampFormat(String pattern) {
+        this.pattern = pattern;
+        this.dateFormat = new SimpleDateFormat(pattern);
+        this.resolution = hasMillisecondField(pattern) ? 1 : 1000;
+    }
+    /**
+     * Returns the shared formatter for a pattern, creating it if necessary.
+     * @param pattern a {@link SimpleDateFormat} pattern
+     * @return the formatter for {@code pattern}
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static TimestampFormat forPattern(String pattern) {
+        TimestampFormat timestampFormat = REGISTRY.get(pattern);
+        if (timestampFormat == null) {
+            timestampFormat = new TimestampFormat(pattern);
+            TimestampFormat existing = REGISTRY.putIfAbsent(pattern, timestampFormat);
+            if (existing != null) {
+                timestampFormat = existing;
+            }
+        }
+        return(timestampFormat);
+    }
+    public String getPattern() {
+        return(pattern);
+    }
+    /**
+     * Returns the number of milliseconds for which a rendered value is
+     * reused.
+     * @return {@code 1} if the pattern contains a millisecond field,
+     * {@code 1000} otherwise
+     */
+    public long getResolution() {
+        return(resolution);
+    }
+    public String format(long timeMillis) {
+        long unit = floorDiv(timeMillis, resolution);
+        CachedText cachedText = cache;
+        if (cachedText.unit == unit) {
+            return(cachedText.text);
+        }
+        lock.lock();
+        try {
+            cachedText = cache;
+            if (cachedText.unit == unit) {
+                return(cachedText.text);
+            }
+            date.setTime(timeMillis);
+            String text = dateFormat.format(date);
+            if (unit > cachedText.unit) {
+                cache = new CachedText(unit, text);
+            }
+            return(text);
+        } finally {
+            lock.unlock();
+        }
+    }
+    public String now() {
+        return(format(System.currentTimeMillis()));
+    }
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q--;
+        }
+        return(q);
+    }
+    private static boolean hasMillisecondField(String pattern) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == 'S' && !quoted) {
+                return(true);
+            }
+        }
+        return(false);
+    }
+    private static final class CachedText {
+        private final long unit;
+        private final String text;
+        private CachedText(long unit, String text) {
+            this.unit = unit;
+            this.text = text;
+        }
+    }
+}
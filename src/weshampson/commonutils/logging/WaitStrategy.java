@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package weshampson.commonutils.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Determines how the {@link AsyncLogDispatcher} consumer thread waits when
+ * the ring buffer is empty.
+ * <p>
+ * {@link Blocking} uses the least CPU and is the default. {@link Sleeping}
+ * and {@link Yielding} trade CPU for lower wake-up latency, and
+ * {@link BusySpin} should only be used when the consumer has a core to
+ * itself.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public interface WaitStrategy {
+    /**
+     * Called by the consumer thread each time it finds no published events.
+     * @param dispatcher the dispatcher whose ring buffer is empty
+     * @param idleCount the number of consecutive times this method has been
+     * called without an event being consumed
+     * @throws InterruptedException if the consumer is interrupted while
+     * waiting
+     */
+    public abstract void idle(AsyncLogDispatcher dispatcher, int idleCount) throws InterruptedException;
+    /**
+     * Called by a producer after it has published an event.
+     */
+    public abstract void signal();
+    public static class Blocking implements WaitStrategy {
+        private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition eventPublished = lock.newCondition();
+        private volatile boolean consumerWaiting;
+        @Override
+        public void idle(AsyncLogDispatcher dispatcher, int idleCount) throws InterruptedException {
+            lock.lock();
+            try {
+                consumerWaiting = true;
+                if (!dispatcher.hasPendingEvents() && dispatcher.isRunning()) {
+                    eventPublished.awaitNanos(MAX_WAIT_NANOS);
+                }
+            } finally {
+                consumerWaiting = false;
+                lock.unlock();
+            }
+        }
+        @Override
+        public void signal() {
+            if (!consumerWaiting) {
+                return;
+            }
+            lock.lock();
+            try {
+                eventPublished.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    public static class Sleeping implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 200;
+        private final long sleepNanos;
+        public Sleeping() {
+            this(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        public Sleeping(long sleepNanos) {
+            this.sleepNanos = sleepNanos;
+        }
+        @Override
+        public void idle(AsyncLogDispatcher dispatcher, int idleCount) throws InterruptedException {
+            if (idleCount < SPIN_TRIES) {
+                return;
+            }
+            if (idleCount < YIELD_TRIES) {
+                Thread.yield();
+                return;
+            }
+            LockSupport.parkNanos(sleepNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        @Override
+        public void signal() {
+        }
+    }
+    public static class Yielding implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        @Override
+        public void idle(AsyncLogDispatcher dispatcher, int idleCount) throws InterruptedException {
+            if (idleCount >= SPIN_TRIES) {
+                Thread.yield();
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        @Override
+        public void signal() {
+        }
+    }
+    public static class BusySpin implements WaitStrategy {
+        @Override
+        public void idle(AsyncLogDispatcher dispatcher, int idleCount) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        @Override
+        public void signal() {
+        }
+    }
+}
@@ -51,16 +51,16 @@ import static weshampson.commonutils.logging.Logger.STREAM_STDOUT;
 /**
  *
  * @author  Wes Hampson
- * @version 0.4.0 (Jan 30, 2015)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.3.0 (Sep 20, 2014)
  */
 public class Updater extends javax.swing.JDialog {
     public static final int CANCEL_OPTION = -1;
     public static final int YES_OPTION = 0;
     public static final int NO_OPTION = 1;
-    protected static final Level UPDATER_LEVEL_INFO = new Level(STREAM_STDOUT, "[%T UPDATER/INFO]: ", ANSI.Color.DEFAULT, DOCATTRS_INFO);
-    protected static final Level UPDATER_LEVEL_ERROR = new Level(STREAM_STDERR, "[%T UPDATER/ERROR]: ", ANSI.Color.RED, DOCATTRS_ERROR);
-    protected static final Level UPDATER_LEVEL_WARNING = new Level(STREAM_STDOUT, "[%T UPDATER/WARNING]: ", ANSI.Color.YELLOW, DOCATTRS_WARNING);
+    protected static final Level UPDATER_LEVEL_INFO = new Level("UPDATER/INFO", Level.SEVERITY_INFO, STREAM_STDOUT, "[%T UPDATER/INFO]: ", ANSI.Color.DEFAULT, DOCATTRS_INFO);
+    protected static final Level UPDATER_LEVEL_ERROR = new Level("UPDATER/ERROR", Level.SEVERITY_ERROR, STREAM_STDERR, "[%T UPDATER/ERROR]: ", ANSI.Color.RED, DOCATTRS_ERROR);
+    protected static final Level UPDATER_LEVEL_WARNING = new Level("UPDATER/WARNING", Level.SEVERITY_WARNING, STREAM_STDOUT, "[%T UPDATER/WARNING]: ", ANSI.Color.YELLOW, DOCATTRS_WARNING);
     private static final String UPDATE_AVAILABLE_PANEL_IDENTIFIER = "updateAvailablePanel";
     private static final String DOWNLOAD_PROGRESS_PANEL_IDENTIFIER = "downloadProgressPanel";
     
@@ -94,7 +94,7 @@ public class Updater extends javax.swing.JDialog {
         String fullyQualifiedClassName = UpdateInstaller.class.getCanonicalName();
         String resourceName = fullyQualifiedClassName.replace(".", "/") + ".class";
         String outFilePath = tmpDir + fileSeparator + fullyQualifiedClassName.replace(".", fileSeparator) + ".class";
-        Logger.log(UPDATER_LEVEL_INFO, "Extracting installer to " + tmpDir);
+        Logger.log(UPDATER_LEVEL_INFO, "Extracting installer to {}", tmpDir);
         JarUtils.extractResource(resourceName, outFilePath);
         return(new File(tmpDir));
     }
@@ -121,9 +121,9 @@ public class Updater extends javax.swing.JDialog {
                         || uRLConnection.getResponseCode() == HttpURLConnection.HTTP_MOVED_PERM
                         || uRLConnection.getResponseCode() == HttpURLConnection.HTTP_SEE_OTHER) {
                     redirect = true;
-                    Logger.log(UPDATER_LEVEL_INFO, "HTTP " + uRLConnection.getResponseCode() + " - " + uRLConnection.getResponseMessage(), true, true);
+                    Logger.log(UPDATER_LEVEL_INFO, "HTTP {} - {}", uRLConnection.getResponseCode(), uRLConnection.getResponseMessage());
                 } else {
-                    Logger.log(UPDATER_LEVEL_INFO, "Failed to check for updates: HTTP " + uRLConnection.getResponseCode() + " - " + uRLConnection.getResponseMessage(), true, true);
+                    Logger.log(UPDATER_LEVEL_INFO, "Failed to check for updates: HTTP {} - {}", uRLConnection.getResponseCode(), uRLConnection.getResponseMessage());
                     throw new IOException("Failed to check for updates: HTTP " + uRLConnection.getResponseCode() + " - " + uRLConnection.getResponseMessage());
                 }
             }
@@ -140,9 +140,9 @@ public class Updater extends javax.swing.JDialog {
             }
         } catch (IOException ex) {
             if (ex instanceof ConnectException) {
-                Logger.log(UPDATER_LEVEL_ERROR, "Failed to check for updates: " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+                Logger.log(UPDATER_LEVEL_ERROR, "Failed to check for updates: {}: {}", ex.getClass().getSimpleName(), ex.getMessage());
             } else {
-                Logger.log(UPDATER_LEVEL_ERROR, "Failed to check for updates: HTTP " + uRLConnection.getResponseCode());
+                Logger.log(UPDATER_LEVEL_ERROR, "Failed to check for updates: HTTP {}", uRLConnection.getResponseCode());
             }
             throw new IOException(ex);
         }
@@ -151,7 +151,7 @@ public class Updater extends javax.swing.JDialog {
         try {
             updateInfo = (JSONObject)jSONParser.parse(response);
             if (((String)updateInfo.get("updateAvailable")).equals("true")) {
-                Logger.log(UPDATER_LEVEL_INFO, "Update found! Version: " + (String)updateInfo.get("versionString"));
+                Logger.log(UPDATER_LEVEL_INFO, "Update found! Version: {}", updateInfo.get("versionString"));
                 return(true);
             } else {
                 Logger.log(UPDATER_LEVEL_INFO, "No updates found.");
@@ -182,7 +182,7 @@ public class Updater extends javax.swing.JDialog {
                 @Override
                 protected Object doInBackground() throws Exception {
                     while (download) {
-                        Logger.log(UPDATER_LEVEL_INFO, "Downloading update from " + uRL + "...");
+                        Logger.log(UPDATER_LEVEL_INFO, "Downloading update from {}...", uRL);
                         HttpURLConnection uRLConnection = (HttpURLConnection)uRL.openConnection();
                         uRLConnection.setRequestMethod("GET");
                         boolean redirect = false;
@@ -192,10 +192,10 @@ public class Updater extends javax.swing.JDialog {
                                     || uRLConnection.getResponseCode() == HttpURLConnection.HTTP_MOVED_PERM
                                     || uRLConnection.getResponseCode() == HttpURLConnection.HTTP_SEE_OTHER) {
                                 redirect = true;
-                                Logger.log(UPDATER_LEVEL_INFO, "HTTP " + uRLConnection.getResponseCode() + " - " + uRLConnection.getResponseMessage());
+                                Logger.log(UPDATER_LEVEL_INFO, "HTTP {} - {}", uRLConnection.getResponseCode(), uRLConnection.getResponseMessage());
                             } else {
                                 downloadError = true;
-                                Logger.log(UPDATER_LEVEL_INFO, "Download failed: HTTP " + uRLConnection.getResponseCode() + " - " + uRLConnection.getResponseMessage());
+                                Logger.log(UPDATER_LEVEL_INFO, "Download failed: HTTP {} - {}", uRLConnection.getResponseCode(), uRLConnection.getResponseMessage());
                                 showDownloadErrorDialog("HTTP " + uRLConnection.getResponseCode() + " - " + uRLConnection.getResponseMessage());;
                                 dispose();
                                 return(null);
@@ -203,14 +203,14 @@ public class Updater extends javax.swing.JDialog {
                         }
                         if (redirect) {
                             String newURL = uRLConnection.getHeaderField("Location");
-                            Logger.log(UPDATER_LEVEL_INFO, "New URL: " + newURL);
+                            Logger.log(UPDATER_LEVEL_INFO, "New URL: {}", newURL);
                             uRLConnection = (HttpURLConnection)new URL(newURL).openConnection();
                         }
                         int retries = -1;
                         do {
                             retries++;
                             if (retries > 1) {
-                                Logger.log(UPDATER_LEVEL_INFO, "Retrying download... (" + retries + " of 20)");
+                                Logger.log(UPDATER_LEVEL_INFO, "Retrying download... ({} of 20)", retries);
                             }
                             int bytesRead = 0;
                             byte[] buffer = new byte[16 * 1024];
@@ -223,7 +223,7 @@ public class Updater extends javax.swing.JDialog {
                             }
                             BufferedInputStream fileIn = new BufferedInputStream(uRLConnection.getInputStream());
                             FileOutputStream fileOut = new FileOutputStream(outputFile);
-                            Logger.log(UPDATER_LEVEL_INFO, "File size: " + downloadSize  + " bytes");
+                            Logger.log(UPDATER_LEVEL_INFO, "File size: {} bytes", downloadSize);
                             try {
                                 while ((bytesRead = fileIn.read(buffer)) != -1 && download) {
                                     fileOut.write(buffer, 0, bytesRead);
@@ -245,7 +245,7 @@ public class Updater extends javax.swing.JDialog {
                                 fileIn.close();
                                 download = false;
                                 if (!downloadCancelled && !downloadError) {
-                                    Logger.log(UPDATER_LEVEL_INFO, "Download complete! File saved at " + outputFile.getCanonicalPath());
+                                    Logger.log(UPDATER_LEVEL_INFO, "Download complete! File saved at {}", outputFile.getCanonicalPath());
                                 }
                                 dispose();
                                 break;
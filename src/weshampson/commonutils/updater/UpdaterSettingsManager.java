@@ -39,7 +39,7 @@ import weshampson.commonutils.logging.Logger;
 /**
  *
  * @author  Wes Hampson
- * @version 0.3.1 (Nov 22, 2014)
+ * @version 0.5.0 (Oct 18, 2026)
  * @since   0.3.1 (Nov 22, 2014)
  */
 public class UpdaterSettingsManager {
@@ -72,7 +72,7 @@ public class UpdaterSettingsManager {
             Logger.log(Updater.UPDATER_LEVEL_INFO, "Creating new configuration file...");
             settingsXMLFile.getParentFile().mkdirs();
             settingsXMLFile.createNewFile();
-            Logger.log(Updater.UPDATER_LEVEL_INFO, "Updater configuration file successfully created at " + settingsXMLFile.getCanonicalPath());
+            Logger.log(Updater.UPDATER_LEVEL_INFO, "Updater configuration file successfully created at {}", settingsXMLFile.getCanonicalPath());
             return;
         }
         SAXReader sAXReader = new SAXReader();
@@ -87,7 +87,7 @@ public class UpdaterSettingsManager {
             Element element = (Element)i.next();
             UPDATER_SETTINGS.put(element.getName(), element.getText());
         }
-        Logger.log(Updater.UPDATER_LEVEL_INFO, "Loaded updater configuration from file: " + settingsXMLFile.getCanonicalPath());
+        Logger.log(Updater.UPDATER_LEVEL_INFO, "Loaded updater configuration from file: {}", settingsXMLFile.getCanonicalPath());
     }
     public static void saveSettings(File settingsXMLFile) throws IOException {
         Document xMLDocument = DocumentHelper.createDocument();
@@ -100,6 +100,6 @@ public class UpdaterSettingsManager {
         XMLWriter xMLWriter = new XMLWriter(new FileWriter(settingsXMLFile), outputFormat);
         xMLWriter.write(xMLDocument);
         xMLWriter.close();
-        Logger.log(Updater.UPDATER_LEVEL_INFO, "Updater configuration saved to file: " + settingsXMLFile.getCanonicalPath());
+        Logger.log(Updater.UPDATER_LEVEL_INFO, "Updater configuration saved to file: {}", settingsXMLFile.getCanonicalPath());
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that events written by {@link JournalAppender} are read back
+ * unchanged by {@link JournalDecoder}, including once the intern tables are
+ * full and thread names and patterns are written inline, and at buffer
+ * sizes where records cross batch boundaries.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class JournalRoundTripTest {
+    private static final int EVENT_COUNT = 65540;
+    private static final int INLINE_EVENT_COUNT = 66000;
+    @Test
+    public void testInternTableOverflow() throws IOException {
+        File file = File.createTempFile("journal", ".bin");
+        file.deleteOnExit();
+        try (JournalAppender journal = new JournalAppender(file)) {
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                journal.append(createEvent(i));
+            }
+        }
+        try (JournalDecoder decoder = new JournalDecoder(new FileInputStream(file))) {
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                LogEvent expected = createEvent(i);
+                LogEvent actual = decoder.readEvent();
+                assertEquals(expected.getThreadName(), actual.getThreadName());
+                assertEquals(expected.getPattern(), actual.getPattern());
+                assertEquals(expected.getMessage(), actual.getMessage());
+                assertEquals(expected.getTimeMillis(), actual.getTimeMillis());
+            }
+            assertNull(decoder.readEvent());
+        }
+    }
+    @Test
+    public void testWideArgumentsAtEveryBufferSize() throws IOException {
+        Object[] args = {Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, -1L, Long.MIN_VALUE};
+        for (int bufferSize = JournalAppender.MIN_BUFFER_SIZE; bufferSize < 200; bufferSize++) {
+            File file = File.createTempFile("journal", ".bin");
+            file.deleteOnExit();
+            try (JournalAppender journal = new JournalAppender(file, bufferSize, 0)) {
+                for (int i = 0; i < 20; i++) {
+                    journal.append(new LogEvent(Level.INFO, null, null, true, i, "main", "{} {} {} {} {}", args, null));
+                }
+            }
+            try (JournalDecoder decoder = new JournalDecoder(new FileInputStream(file))) {
+                for (int i = 0; i < 20; i++) {
+                    assertArrayEquals("buffer size " + bufferSize, args, decoder.readEvent().getArguments());
+                }
+                assertNull(decoder.readEvent());
+            }
+            file.delete();
+        }
+    }
+    @Test
+    public void testInlineStringsEndingInSupplementaryCharacter() throws IOException {
+        for (int bufferSize = JournalAppender.MIN_BUFFER_SIZE; bufferSize < JournalAppender.MIN_BUFFER_SIZE + 8; bufferSize++) {
+            File file = File.createTempFile("journal", ".bin");
+            file.deleteOnExit();
+            try (JournalAppender journal = new JournalAppender(file, bufferSize, 0)) {
+                for (int i = 0; i < INLINE_EVENT_COUNT; i++) {
+                    journal.append(createSupplementaryEvent(i));
+                }
+            }
+            try (JournalDecoder decoder = new JournalDecoder(new FileInputStream(file))) {
+                for (int i = 0; i < INLINE_EVENT_COUNT; i++) {
+                    LogEvent expected = createSupplementaryEvent(i);
+                    LogEvent actual = decoder.readEvent();
+                    assertEquals(expected.getThreadName(), actual.getThreadName());
+                    assertEquals(expected.getPattern(), actual.getPattern());
+                    assertEquals(expected.getMessage(), actual.getMessage());
+                }
+                assertNull(decoder.readEvent());
+            }
+            file.delete();
+        }
+    }
+    private static LogEvent createSupplementaryEvent(int i) {
+        // Vary the lengths so that strings end at every offset in a batch.
+        // U+1F600 is encoded as four bytes.
+        String padding = "abcdefghijklmnopqrstuvwxyz";
+        String pattern = "{} " + i + padding.substring(i % 17) + "\uD83D\uDE00";
+        Object[] args = {i};
+        return(new LogEvent(Level.INFO, null, MessageFormatter.format(pattern, args), true, i, "t" + i + padding.substring(i % 23) + "\uD83D\uDE00", pattern, args, null));
+    }
+    private static LogEvent createEvent(int i) {
+        String pattern = "event " + i + " of {}";
+        Object[] args = {EVENT_COUNT};
+        return(new LogEvent(Level.INFO, null, MessageFormatter.format(pattern, args), true, 1000000L + i, "thread-" + i, pattern, args, null));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Wes Hampson.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package weshampson.commonutils.logging;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Logs from many threads at once through the asynchronous dispatcher into a
+ * {@link FileAppender}, and checks that every message reaches the file
+ * exactly once, whole and in the order each thread logged it.
+ * @author  Wes Hampson
+ * @version 0.5.0 (Oct 18, 2026)
+ * @since   0.5.0 (Oct 18, 2026)
+ */
+public class LoggerStressTest {
+    private static final int THREAD_COUNT = 16;
+    private static final int MESSAGES_PER_THREAD = 5000;
+    private static final int[] CODE_POINTS = {'a', 0xE9, 0x20AC, 0x1F600};
+    private static final Pattern LINE = Pattern.compile("\\[[^\\]]*\\]: worker (\\d+) message (\\d+) (.*)");
+    @Test
+    public void testConcurrentLoggingToFile() throws Exception {
+        File file = File.createTempFile("stress", ".log");
+        file.deleteOnExit();
+        // A small buffer and a short flush interval put batch boundaries and
+        // timed flushes in the middle of the messages.
+        FileAppender appender = new FileAppender(new FileOutputStream(file), 4096, 1, FileAppender.Durability.NONE);
+        Logger logger = new NullLogger();
+        logger.setFileOutAppender(appender);
+        logger.setFileErrAppender(appender);
+        logger.setLoggingToFileEnabled(true);
+        Logger previous = Logger.getLogger();
+        Logger.setLogger(logger);
+        Logger.enableAsyncLogging(1024, new WaitStrategy.Blocking());
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[THREAD_COUNT];
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                final int worker = i;
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException ex) {
+                            return;
+                        }
+                        for (int n = 0; n < MESSAGES_PER_THREAD; n++) {
+                            Level level = n % 3 == 0 ? Level.ERROR : Level.INFO;
+                            Logger.log(level, "worker {} message {} " + payload(worker, n), worker, n);
+                        }
+                    }
+                }, "stress-" + i);
+                threads[i].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(Logger.disableAsyncLogging(0));
+            appender.flush();
+        } finally {
+            Logger.disableAsyncLogging(0);
+            Logger.setLogger(previous);
+            appender.close();
+        }
+        int[] nextMessage = new int[THREAD_COUNT];
+        int lineCount = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = LINE.matcher(line);
+                assertTrue("interleaved or damaged line: " + line, matcher.matches());
+                int worker = Integer.parseInt(matcher.group(1));
+                int n = Integer.parseInt(matcher.group(2));
+                assertEquals("line out of order or repeated: " + line, nextMessage[worker], n);
+                assertEquals(payload(worker, n), matcher.group(3));
+                nextMessage[worker]++;
+                lineCount++;
+            }
+        }
+        assertEquals(THREAD_COUNT * MESSAGES_PER_THREAD, lineCount);
+    }
+    /**
+     * Returns text of varying length, with characters of every UTF-8 length,
+     * so that messages are split across batches at every offset.
+     */
+    private static String payload(int worker, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < (worker * 7 + n) % 40; i++) {
+            sb.appendCodePoint(CODE_POINTS[i % CODE_POINTS.length]);
+        }
+        return(sb.toString());
+    }
+    private static final class NullLogger extends Logger {
+        private NullLogger() {
+            super(new PrintWriter(new NullWriter()), new PrintWriter(new NullWriter()));
+        }
+        @Override
+        public void print(Level level, String message, boolean writePrefix, boolean newLine) {
+            printToAppenders(level, writePrefix ? parsePrefix(level, level.getPrefix()) : null, message, newLine);
+        }
+    }
+    private static final class NullWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+        @Override
+        public void flush() {
+        }
+        @Override
+        public void close() {
+        }
+    }
+}